@@ -0,0 +1,183 @@
+package org.example.wordle.benchmarks;
+
+import org.example.wordle.controller.AI.AIPerformance;
+import org.example.wordle.controller.AI.FrequencyStrategy;
+import org.example.wordle.controller.AI.IStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the operations the strategies spend their time on, at the
+ * sizes of the possible answers met in real games.
+ * <br>
+ * </br>
+ * The state of each benchmark is captured from a game of
+ * {@link FrequencyStrategy} against one of the answers {@link AIPerformance}
+ * draws from its seed: the word list and the next guess after
+ * <code>stage</code> guesses, and the feedback the answer gives on that guess.
+ * With the default game the word list holds 2316, 326 and 55 possible answers
+ * at the three stages. Other games are chosen with <code>-p game=...</code>.
+ * <br>
+ * </br>
+ * The benchmarks are a separate project, since the game is packaged as a jar
+ * and can not also be the parent of other modules. Install the game without
+ * compiling or running its tests, then build the benchmarks and run them with
+ * the GC profiler on:
+ *
+ * <pre>
+ * mvn install -Dmaven.test.skip=true
+ * mvn -f benchmarks/pom.xml package
+ * java --add-modules jdk.incubator.vector -jar benchmarks/target/benchmarks.jar
+ * </pre>
+ *
+ * The arguments are the usual JMH arguments, for example a regular expression
+ * to run only some of the benchmarks. A quick check that every benchmark runs:
+ *
+ * <pre>
+ * java --add-modules jdk.incubator.vector -jar benchmarks/target/benchmarks.jar -f 1 -wi 1 -i 1 -w 1s -r 1s
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SolverBenchmarks {
+
+    /**
+     * How far into the game the state is captured.
+     */
+    public enum Stage {
+        FULL(0), AFTER_ONE_GUESS(1), AFTER_TWO_GUESSES(2);
+
+        private final int guesses;
+
+        Stage(int guesses) {
+            this.guesses = guesses;
+        }
+    }
+
+    @Param({ "FULL", "AFTER_ONE_GUESS", "AFTER_TWO_GUESSES" })
+    public Stage stage;
+
+    /**
+     * Index of the game among the answers drawn from the seed of
+     * {@link AIPerformance}.
+     */
+    @Param({ "1" })
+    public int game;
+
+    private WordleDictionary dictionary;
+    private WordleWordList list;
+    private List<String> possibleAnswers;
+    private String guess;
+    private WordleWord feedback;
+
+    @Setup(Level.Trial)
+    public void captureGame() {
+        dictionary = new WordleDictionary();
+        // The seed of AIPerformance
+        Random random = new Random(14212l);
+        WordleAnswer answer = null;
+        for (int i = 0; i <= game; i++)
+            answer = new WordleAnswer(random, dictionary);
+
+        IStrategy strategy = new FrequencyStrategy(dictionary);
+        list = new WordleWordList(dictionary);
+        WordleWord last = null;
+        for (int i = 0; i < stage.guesses; i++) {
+            last = answer.makeGuess(strategy.makeGuess(last));
+            if (last.allMatch())
+                throw new IllegalStateException("Game " + game + " is won before " + stage);
+            list.eliminateWords(last);
+        }
+        guess = strategy.makeGuess(last);
+        feedback = answer.makeGuess(guess);
+        possibleAnswers = List.copyOf(list.possibleAnswers());
+    }
+
+    /**
+     * Feedback of the guess against each possible answer.
+     */
+    @Benchmark
+    public void matchWord(Blackhole blackhole) {
+        for (String answer : possibleAnswers)
+            blackhole.consume(WordleAnswer.matchWord(guess, answer));
+    }
+
+    /**
+     * Check of each possible answer against the feedback of the guess.
+     */
+    @Benchmark
+    public void isPossibleWord(Blackhole blackhole) {
+        for (String answer : possibleAnswers)
+            blackhole.consume(WordleWord.isPossibleWord(answer, feedback));
+    }
+
+    /**
+     * Copy of the word list, which {@link #eliminateWords()} includes.
+     */
+    @Benchmark
+    public WordleWordList copyWordList() {
+        return list.copy();
+    }
+
+    /**
+     * Elimination of the possible answers by the feedback of the guess, on a
+     * copy of the word list.
+     */
+    @Benchmark
+    public WordleWordList eliminateWords() {
+        WordleWordList copy = list.copy();
+        copy.eliminateWords(feedback);
+        return copy;
+    }
+
+    @Benchmark
+    public int[][] calculateLetterFrequencies() {
+        return list.calculateLetterFrequencies();
+    }
+
+    @Benchmark
+    public Map<Character, Integer>[] calculateLetterFrequenciesOfWords() {
+        return list.calculateLetterFrequencies(possibleAnswers);
+    }
+
+    @Benchmark
+    public double calculateEntropy() {
+        return list.calculateEntropy(guess);
+    }
+
+    @Benchmark
+    public String bestGuessBasedOnEntropy() {
+        return list.bestGuessBasedOnEntropy();
+    }
+
+    /**
+     * Runs the benchmarks with the GC profiler, which reports the bytes
+     * allocated by each operation.
+     *
+     * @param args JMH command line arguments
+     * @throws Exception if the arguments are wrong or a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
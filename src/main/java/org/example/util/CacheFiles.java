@@ -0,0 +1,79 @@
+package org.example.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Helper methods for the files the solver caches between runs. The files are
+ * stored in the folder given by the system property <code>wordle.cacheDir</code>,
+ * or in <code>target/wordle-cache</code> if the property is not set.
+ */
+public class CacheFiles {
+
+    private static final String CACHE_DIR_PROPERTY = "wordle.cacheDir";
+    private static final String DEFAULT_CACHE_DIR = "target/wordle-cache";
+
+    /**
+     * Gets the path of the cache file with the given name.
+     *
+     * @param fileName
+     * @return path of the cache file
+     */
+    public static Path cacheFile(String fileName) {
+        return Paths.get(System.getProperty(CACHE_DIR_PROPERTY, DEFAULT_CACHE_DIR), fileName);
+    }
+
+    /**
+     * Memory maps the given file read-only.
+     *
+     * @param file
+     * @return the mapped file, or null if the file does not exist or can not be
+     *         read
+     */
+    public static MappedByteBuffer map(Path file) {
+        if (!Files.isRegularFile(file))
+            return null;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            System.err.println("Could not read cache file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given buffers to <code>file</code>. The data is first written to
+     * a temporary file which is then moved in place, so other processes never see
+     * a half written file. Failing to write is reported, but not fatal, since
+     * the cache can always be rebuilt.
+     *
+     * @param file
+     * @param buffers the content of the file, written in order
+     * @return true if the file was written
+     */
+    public static boolean write(Path file, ByteBuffer... buffers) {
+        try {
+            Path folder = file.toAbsolutePath().getParent();
+            Files.createDirectories(folder);
+            Path tmp = Files.createTempFile(folder, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                for (ByteBuffer buffer : buffers) {
+                    while (buffer.hasRemaining())
+                        channel.write(buffer);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Could not write cache file " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
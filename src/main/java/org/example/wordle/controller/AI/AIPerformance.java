@@ -4,11 +4,38 @@ import org.example.wordle.model.WordleDictionary;
 import org.example.wordle.model.word.WordleAnswer;
 import org.example.wordle.model.word.WordleWord;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * This class, when its main method is run, shows the performance of the
  * strategies listed in it.
+ * <br>
+ * </br>
+ * By default the strategies play {@link #N_GAMES} random answers. With the
+ * argument <code>--exhaustive</code> they play every answer of the dictionary
+ * instead, see {@link #runAllAnswers(Supplier, int)}.
+ * <br>
+ * </br>
+ * The results can also be written for other programs, see
+ * {@link PerformanceReport}:
+ * <ul>
+ * <li><code>--json file</code> writes the results as JSON.</li>
+ * <li><code>--csv file</code> writes the results as CSV.</li>
+ * <li><code>--compare file</code> compares the results to a CSV file written
+ * by an earlier run with the same seed, games and threads, and exits with
+ * status 1 if a strategy regressed.</li>
+ * <li><code>--guess-threshold fraction</code> and
+ * <code>--latency-threshold fraction</code> set how much the average number of
+ * guesses and the median time of a guess may grow before the comparison calls
+ * it a regression.</li>
+ * </ul>
  */
 public class AIPerformance {
 
@@ -17,36 +44,134 @@ public class AIPerformance {
     public static final int N_GAMES = 200;
     public static final int MAX_N_GUESSES = 20;
     static long seed = 14212l;
+    /**
+     * Time each move of the LookaheadStrategy may spend on scoring guesses.
+     */
+    public static final Duration LOOKAHEAD_BUDGET = Duration.ofMillis(200);
+    /**
+     * Number of guesses whose exact entropy the ShortlistEntropyStrategy computes.
+     */
+    public static final int SHORTLIST_SIZE = ShortlistEntropyStrategy.DEFAULT_SHORTLIST_SIZE;
+
+    /**
+     * Number of threads playing games at the same time. Each thread plays its
+     * own share of the games with its own strategy instance.
+     */
+    public static final int N_THREADS = Integer.getInteger("wordle.performance.threads",
+            Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Growth of the average number of guesses that the comparison to a baseline
+     * allows by default.
+     */
+    public static final double GUESS_THRESHOLD = 0.01;
+    /**
+     * Growth of the median time of a guess that the comparison to a baseline
+     * allows by default. Timings vary more between runs than guess counts do.
+     */
+    public static final double LATENCY_THRESHOLD = 0.25;
+
+    public static void main(String[] args) throws IOException {
+        boolean exhaustive = false;
+        Path jsonFile = null;
+        Path csvFile = null;
+        Path baseline = null;
+        double guessThreshold = GUESS_THRESHOLD;
+        double latencyThreshold = LATENCY_THRESHOLD;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--exhaustive" -> exhaustive = true;
+                case "--json" -> jsonFile = Path.of(argument(args, ++i));
+                case "--csv" -> csvFile = Path.of(argument(args, ++i));
+                case "--compare" -> baseline = Path.of(argument(args, ++i));
+                case "--guess-threshold" -> guessThreshold = Double.parseDouble(argument(args, ++i));
+                case "--latency-threshold" -> latencyThreshold = Double.parseDouble(argument(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
 
-    public static void main(String[] args) {
-        // Strategies
-        List<IStrategy> strategies = new ArrayList<>();
-        strategies.add(new RandomStrategy(wordleDictionary));
-        strategies.add(new EliminateStrategy(wordleDictionary));
-        strategies.add(new FrequencyStrategy(wordleDictionary));
-        strategies.add(new MyStrategy(wordleDictionary));
+        // Strategies, one instance for each thread playing games
+        List<MyStrategy> myStrategies = Collections.synchronizedList(new ArrayList<>());
+        List<ShortlistEntropyStrategy> shortlistStrategies = Collections.synchronizedList(new ArrayList<>());
+        List<Supplier<IStrategy>> strategies = new ArrayList<>();
+        strategies.add(() -> new RandomStrategy(wordleDictionary));
+        strategies.add(() -> new EliminateStrategy(wordleDictionary));
+        strategies.add(() -> new FrequencyStrategy(wordleDictionary));
+        strategies.add(() -> register(myStrategies, new MyStrategy(wordleDictionary)));
+        strategies.add(() -> new FullEntropyStrategy(wordleDictionary));
+        strategies.add(() -> register(shortlistStrategies,
+                new ShortlistEntropyStrategy(wordleDictionary, SHORTLIST_SIZE, true)));
+        strategies.add(() -> new DecisionTreeStrategy(wordleDictionary));
+        strategies.add(() -> new MinimaxStrategy(wordleDictionary));
+        strategies.add(() -> new LookaheadStrategy(wordleDictionary, LOOKAHEAD_BUDGET));
+        strategies.add(() -> new MyStrategy(wordleDictionary, true));
+        strategies.add(() -> new FullEntropyStrategy(wordleDictionary, true));
+        strategies.add(() -> new MinimaxStrategy(wordleDictionary, true));
 
-        Map<IStrategy, AIStatistics> stats = new HashMap<>();
-        System.out.println("\nStrategies running...");
+        List<AIStatistics> stats = new ArrayList<>();
+        System.out.printf("%nStrategies running on %d threads...%n", N_THREADS);
         System.out.println(
                 "---------------------------------------------------------------------------------------------");
-        for (IStrategy strategy : strategies) {
-            stats.put(strategy, runWordleGames(strategy));
+        for (Supplier<IStrategy> strategy : strategies) {
+            long start = System.nanoTime();
+            AIStatistics result = exhaustive ? runAllAnswers(strategy, N_THREADS) : runWordleGames(strategy, N_THREADS);
+            result.setRunNanos(System.nanoTime() - start);
+            stats.add(result);
         }
 
         System.out.println(
                 "---------------------------------------------------------------------------------------------\n");
         System.out.printf("After %s Wordle games the strategies got the following"
-                + " average guessing counts:%n", N_GAMES);
+                + " average guessing counts:%n", exhaustive ? "all " + wordleDictionary.answerCount() : N_GAMES);
         System.out.println(
                 "---------------------------------------------------------------------------------------------");
-        for (IStrategy strategy : strategies) {
-            AIStatistics.printResult(stats.get(strategy));
+        for (AIStatistics result : stats) {
+            AIStatistics.printResult(result);
+            AIStatistics.printTurns(result);
         }
-        for (IStrategy strategy : strategies) {
-            AIStatistics.printHistogram(stats.get(strategy));
+        for (AIStatistics result : stats) {
+            AIStatistics.printHistogram(result);
         }
+        System.out.printf("%nMyStrategy used the endgame solver for %d of %d guesses after the first%n",
+                sum(myStrategies, MyStrategy::getEndgameMoves), sum(myStrategies, MyStrategy::getMoves));
+        System.out.printf("ShortlistEntropyStrategy (K = %d) picked another guess than the exhaustive search"
+                + " for %d of %d guesses after the first, %d of them with lower entropy (%.3f bits lost)%n",
+                SHORTLIST_SIZE, sum(shortlistStrategies, ShortlistEntropyStrategy::getDifferentMoves),
+                sum(shortlistStrategies, ShortlistEntropyStrategy::getMoves),
+                sum(shortlistStrategies, ShortlistEntropyStrategy::getWorseMoves),
+                shortlistStrategies.stream().mapToDouble(ShortlistEntropyStrategy::getEntropyLost).sum());
+        System.out.println("Entropy evaluation: " + wordleDictionary.getEntropyEngine().costModel());
         System.out.println();
+
+        PerformanceReport report = new PerformanceReport(stats, seed,
+                exhaustive ? wordleDictionary.answerCount() : N_GAMES, exhaustive, N_THREADS);
+        if (jsonFile != null)
+            report.writeJson(jsonFile);
+        if (csvFile != null)
+            report.writeCsv(csvFile);
+        if (baseline != null) {
+            System.out.println("Compared to " + baseline + ":");
+            int regressions = report.compare(baseline, guessThreshold, latencyThreshold);
+            if (regressions > 0) {
+                System.out.printf("%d of %d strategies regressed%n", regressions, stats.size());
+                System.exit(1);
+            }
+        }
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length)
+            throw new IllegalArgumentException(args[index - 1] + " needs a value");
+        return args[index];
+    }
+
+    private static <T extends IStrategy> T register(List<T> instances, T strategy) {
+        instances.add(strategy);
+        return strategy;
+    }
+
+    private static <T> int sum(List<T> instances, ToIntFunction<T> count) {
+        return instances.stream().mapToInt(count).sum();
     }
 
     /**
@@ -57,41 +182,170 @@ public class AIPerformance {
      * @return the total number of guesses made across <code>nGames</code> games.
      */
     public static AIStatistics runWordleGames(IStrategy strategy) {
-        String strategyName = strategy.getClass().getSimpleName();
-        AIStatistics stats = new AIStatistics(strategyName);
+        return runWordleGames(() -> strategy, 1);
+    }
+
+    /**
+     * Plays Wordle <code>nGames</code> times on the given number of threads and
+     * returns the statistics of the games.
+     * <br>
+     * </br>
+     * The answers are drawn from the seeded random generator before any game
+     * starts, and each thread plays a contiguous share of them with its own
+     * strategy instance from <code>factory</code>. The results are recorded in
+     * game order, so a deterministic strategy gets the same statistics on any
+     * number of threads.
+     * 
+     * @param factory creates the strategy instance of a thread
+     * @param threads number of threads playing games
+     * @return the statistics of the <code>nGames</code> games.
+     * @throws IllegalStateException if a strategy fails in another way than
+     *                               losing a game
+     */
+    public static AIStatistics runWordleGames(Supplier<? extends IStrategy> factory, int threads) {
+        IStrategy first = factory.get();
         //set a seed so that all strategies are given the same set of words
         Random rnd = new Random(seed);
+        WordleAnswer[] answers = new WordleAnswer[N_GAMES];
+        for (int i = 0; i < N_GAMES; i++)
+            answers[i] = new WordleAnswer(rnd, wordleDictionary);
+        return runWordleGames(first, factory, answers, threads);
+    }
+
+    /**
+     * Plays every answer of the dictionary once and returns the exact statistics
+     * of the strategy.
+     * <br>
+     * </br>
+     * Strategies that can be copied are evaluated by an
+     * {@link ExhaustiveEvaluator}, which shares each guess between all answers
+     * that got the same feedback so far. Other strategies, like those that guess
+     * at random, play a game against each answer on the given number of threads.
+     *
+     * @param factory creates the strategy instance of a thread
+     * @param threads number of threads playing games, if the strategy can not be
+     *                copied
+     * @return the statistics of the games, in answer order
+     */
+    public static AIStatistics runAllAnswers(Supplier<? extends IStrategy> factory, int threads) {
+        IStrategy first = factory.get();
+        int nGames = wordleDictionary.answerCount();
+        if (ExhaustiveEvaluator.supports(first)) {
+            String strategyName = nameOf(first);
+            ExhaustiveEvaluator evaluator = new ExhaustiveEvaluator(wordleDictionary, MAX_N_GUESSES);
+            AIStatistics stats = evaluator.evaluate(first, strategyName,
+                    (finished, won) -> printProgress(strategyName, finished, nGames, won));
+            System.out.printf(" | %d guesses made%n", evaluator.getNodes());
+            return stats;
+        }
+        WordleAnswer[] answers = new WordleAnswer[nGames];
+        for (int i = 0; i < nGames; i++)
+            answers[i] = new WordleAnswer(wordleDictionary.getAnswer(i), wordleDictionary);
+        return runWordleGames(first, factory, answers, threads);
+    }
 
-        for (int i = 0; i < N_GAMES; i++) {
+    private static String nameOf(IStrategy strategy) {
+        return strategy.getClass().getSimpleName() + (strategy.isHardMode() ? " (hard)" : "");
+    }
+
+    private static AIStatistics runWordleGames(IStrategy first, Supplier<? extends IStrategy> factory,
+            WordleAnswer[] answers, int threads) {
+        String strategyName = nameOf(first);
+        // Only strategies that can be copied always make the same guess after the same feedback
+        boolean deterministic = ExhaustiveEvaluator.supports(first);
+        int nGames = answers.length;
+        // Guesses of each game, or -1 if it failed
+        int[] results = new int[nGames];
+        AtomicInteger played = new AtomicInteger();
+        int shards = Math.max(1, Math.min(threads, nGames));
+        Thread[] workers = new Thread[shards];
+        // The guesses of each thread, added up when all games are played
+        AIStatistics[] shardStats = new AIStatistics[shards];
+        // The first thread that failed with something else than a lost game
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        if (shards > 1) {
+            // Makes the first guess once before the other instances exist, so what it builds and caches, like the
+            // opening book of MyStrategy, is built by this thread alone and then read by every instance
+            first.makeGuess(null);
+            first.reset();
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            int from = nGames * shard / shards;
+            int to = nGames * (shard + 1) / shards;
+            IStrategy strategy = shard == 0 ? first : factory.get();
+            AIStatistics guesses = shardStats[shard] = new AIStatistics(strategyName);
+            workers[shard] = new Thread(() -> {
+                try {
+                    for (int i = from; i < to && failure.get() == null; i++) {
+                        try {
+                            results[i] = runWordleGame(strategy, answers[i], guesses);
+                        } catch (IllegalStateException e) {
+                            results[i] = -1;
+                        }
+                        printProgress(strategyName, played.incrementAndGet(), nGames, results[i] >= 0);
+                        strategy.reset();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "wordle-games-" + shard);
+            workers[shard].start();
+        }
+        for (Thread worker : workers) {
             try {
-                WordleAnswer answer = new WordleAnswer(rnd, wordleDictionary);
-                int guesses = runWordleGame(strategy, answer);
-                stats.addGame(guesses);
-                printProgress(strategyName, i + 1, true);
-            } catch (IllegalStateException e) {
-                printProgress(strategyName, i + 1, false);
-                stats.failed();
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while playing games", e);
             }
-            strategy.reset();
         }
         System.out.println();
+        // Games that were never played must not be counted as won
+        if (failure.get() != null)
+            throw new IllegalStateException(strategyName + " failed while playing games", failure.get());
+
+        AIStatistics stats = new AIStatistics(strategyName);
+        for (int guesses : results) {
+            if (guesses < 0)
+                stats.failed();
+            else
+                stats.addGame(guesses);
+        }
+        for (AIStatistics guesses : shardStats)
+            stats.addGuesses(guesses);
+        stats.setDeterministic(deterministic);
         return stats;
     }
 
     /**
-     * The given strategy guesses a word until the correct is found
+     * The given strategy guesses a word until the correct is found. Hard mode
+     * strategies play with the hard mode rule turned on.
      * 
      * @param strategy the given strategy guessing the word
      * @param answer   the answer of this game
      * @return total number of guesses
      */
     public static int runWordleGame(IStrategy strategy, WordleAnswer answer) {
-        String guess = strategy.makeGuess(null);
+        return runWordleGame(strategy, answer, null);
+    }
+
+    /**
+     * Plays a game like {@link #runWordleGame(IStrategy, WordleAnswer)}, and
+     * records the time and memory of each guess in <code>stats</code>.
+     * 
+     * @param strategy the given strategy guessing the word
+     * @param answer   the answer of this game
+     * @param stats    the statistics recording the guesses, or null
+     * @return total number of guesses
+     */
+    public static int runWordleGame(IStrategy strategy, WordleAnswer answer, AIStatistics stats) {
+        answer.setHardMode(strategy.isHardMode());
+        String guess = makeGuess(strategy, null, 1, stats);
         WordleWord feedback = answer.makeGuess(guess);
 
         int guessCount = 1;
         while (!feedback.allMatch()) {
-            guess = strategy.makeGuess(feedback);
+            guess = makeGuess(strategy, feedback, guessCount + 1, stats);
             feedback = answer.makeGuess(guess);
             guessCount++;
 
@@ -103,20 +357,25 @@ public class AIPerformance {
         return guessCount;
     }
 
+    private static String makeGuess(IStrategy strategy, WordleWord feedback, int turn, AIStatistics stats) {
+        return stats == null ? strategy.makeGuess(feedback) : stats.makeGuess(strategy, feedback, turn);
+    }
+
     /**
      * Prints a progress bar for the given strategy showing how many games have been
      * completed.
      * 
      * @param strategyName The given strategy
      * @param game         The current game
+     * @param nGames       The number of games to play
      * @param gameWon      If the game was won
      */
-    public static void printProgress(String strategyName, int game, boolean gameWon) {
+    public static synchronized void printProgress(String strategyName, int game, int nGames, boolean gameWon) {
         float length = 50f;
-        float progress = ((float) game / N_GAMES) * length;
+        float progress = ((float) game / nGames) * length;
         String progressString = "=".repeat((int) progress);
         System.out.printf("\b\r%-25s [%-50s] (%4s /%5s) | Latest game: %s", strategyName + ":", progressString, game,
-                N_GAMES,
+                nGames,
                 gameWon ? "won" : "lost");
     }
 }
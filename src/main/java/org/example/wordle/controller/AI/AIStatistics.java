@@ -1,12 +1,25 @@
 package org.example.wordle.controller.AI;
 
+import org.example.wordle.model.word.WordleWord;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * This class records various statistics of a strategy used for guessing Wordle
  * answers.
+ * <br>
+ * </br>
+ * Besides the guess counts of the games, it can record the time and the memory
+ * allocated by each call to {@link IStrategy#makeGuess(WordleWord)}, in a
+ * {@link LogHistogram} for each turn. The memory is counted by the allocation
+ * counter of the calling thread, so work a strategy hands to other threads,
+ * like the parallel solvers, only shows up in the time.
  */
 public class AIStatistics {
 
@@ -18,6 +31,16 @@ public class AIStatistics {
 	private int maxGuesses;
 	private int failures;
 	public Map<Integer,Integer> gamesCompletedIn = new HashMap<>();
+	/**
+	 * Nanoseconds and allocated bytes of the guesses of each turn, at index
+	 * <code>turn - 1</code>.
+	 */
+	private final List<LogHistogram> latencies = new ArrayList<>();
+	private final List<LogHistogram> allocations = new ArrayList<>();
+	private long runNanos;
+	private boolean deterministic = true;
+
+	private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
 
 	/**
 	 * Create a statistics object for an AI Strategy.
@@ -45,6 +68,78 @@ public class AIStatistics {
 		maxGuesses = Math.max(maxGuesses, guesses);
 	}
 
+	/**
+	 * Makes a guess with the given strategy, and records how long it took and
+	 * how much memory it allocated as a guess of the given turn.
+	 * 
+	 * @param strategy
+	 * @param feedback the feedback given to the strategy
+	 * @param turn     the number of the guess in its game, starting at 1
+	 * @return the guess
+	 */
+	public String makeGuess(IStrategy strategy, WordleWord feedback, int turn) {
+		long allocatedBefore = allocatedBytes();
+		long start = System.nanoTime();
+		String guess = strategy.makeGuess(feedback);
+		long nanos = System.nanoTime() - start;
+		long allocatedAfter = allocatedBytes();
+		addGuess(turn, nanos, allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+		return guess;
+	}
+
+	/**
+	 * Records a guess of the given turn.
+	 * 
+	 * @param turn  the number of the guess in its game, starting at 1
+	 * @param nanos the time the guess took
+	 * @param bytes the memory allocated by the guess, or -1 if it is not known
+	 */
+	public void addGuess(int turn, long nanos, long bytes) {
+		addTurns(turn);
+		latencies.get(turn - 1).record(nanos);
+		if (bytes >= 0)
+			allocations.get(turn - 1).record(bytes);
+	}
+
+	/**
+	 * Adds the guesses recorded by another statistics object of the same
+	 * strategy, for example one kept by another thread.
+	 * 
+	 * @param other
+	 */
+	public void addGuesses(AIStatistics other) {
+		addTurns(other.getTurns());
+		for (int turn = 1; turn <= other.getTurns(); turn++) {
+			latencies.get(turn - 1).add(other.getLatencies(turn));
+			allocations.get(turn - 1).add(other.getAllocations(turn));
+		}
+	}
+
+	private void addTurns(int turns) {
+		while (latencies.size() < turns) {
+			latencies.add(new LogHistogram());
+			allocations.add(new LogHistogram());
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean allocationCounter() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean counter)
+				|| !counter.isThreadAllocatedMemorySupported())
+			return null;
+		if (!counter.isThreadAllocatedMemoryEnabled())
+			counter.setThreadAllocatedMemoryEnabled(true);
+		return counter;
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread so far, or -1 if the JVM
+	 *         does not count them
+	 */
+	private static long allocatedBytes() {
+		return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+	}
+
 	/**
 	 * Increases the value of a given key by 1
 	 * If key is not present in map, the value of this key is sat to 1
@@ -119,6 +214,70 @@ public class AIStatistics {
 		return gamesCompletedIn;
 	}
 
+	/**
+	 * @return the wall-clock time it took to play all games
+	 */
+	public long getRunNanos() {
+		return runNanos;
+	}
+
+	/**
+	 * @param runNanos the wall-clock time it took to play all games
+	 */
+	public void setRunNanos(long runNanos) {
+		this.runNanos = runNanos;
+	}
+
+	/**
+	 * @return true if the strategy always makes the same guess after the same
+	 *         feedback, so that another run against the same answers plays the
+	 *         same games
+	 */
+	public boolean isDeterministic() {
+		return deterministic;
+	}
+
+	/**
+	 * @param deterministic if the strategy always makes the same guess after the
+	 *                      same feedback
+	 */
+	public void setDeterministic(boolean deterministic) {
+		this.deterministic = deterministic;
+	}
+
+	/**
+	 * @return the nanoseconds taken by the guesses of all turns
+	 */
+	public LogHistogram getAllLatencies() {
+		LogHistogram all = new LogHistogram();
+		for (LogHistogram turn : latencies)
+			all.add(turn);
+		return all;
+	}
+
+	/**
+	 * @return the highest turn with recorded guesses
+	 */
+	public int getTurns() {
+		return latencies.size();
+	}
+
+	/**
+	 * @param turn the number of the guess in its game, starting at 1
+	 * @return the nanoseconds taken by the guesses of the turn
+	 */
+	public LogHistogram getLatencies(int turn) {
+		return turn <= latencies.size() ? latencies.get(turn - 1) : new LogHistogram();
+	}
+
+	/**
+	 * @param turn the number of the guess in its game, starting at 1
+	 * @return the bytes allocated by the guesses of the turn
+	 */
+	public LogHistogram getAllocations(int turn) {
+		return turn <= allocations.size() ? allocations.get(turn - 1) : new LogHistogram();
+	}
+
 	/**
 	 * 
 	 * @return the name of the strategy being recorded
@@ -147,6 +306,42 @@ public class AIStatistics {
     }
 
     
+    /**
+     * Prints the median, 99th percentile and maximum time and allocated memory
+     * of the guesses of each turn.
+     * 
+     * @param stats the stats to print
+     */
+    public static void printTurns(AIStatistics stats) {
+        for (int turn = 1; turn <= stats.getTurns(); turn++) {
+            LogHistogram latencies = stats.getLatencies(turn);
+            LogHistogram allocations = stats.getAllocations(turn);
+            System.out.printf("  turn %-2d %6d guesses   time p50 %9s  p99 %9s  max %9s", turn,
+                    latencies.getCount(), formatNanos(latencies.percentile(0.5)),
+                    formatNanos(latencies.percentile(0.99)), formatNanos(latencies.getMax()));
+            if (allocations.getCount() > 0)
+                System.out.printf("   allocated p50 %8s  p99 %8s  max %8s", formatBytes(allocations.percentile(0.5)),
+                        formatBytes(allocations.percentile(0.99)), formatBytes(allocations.getMax()));
+            System.out.println();
+        }
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000)
+            return String.format("%.1f us", nanos / 1e3);
+        if (nanos < 1_000_000_000)
+            return String.format("%.1f ms", nanos / 1e6);
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1 << 10)
+            return bytes + " B";
+        if (bytes < 1 << 20)
+            return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
     /**
      * Prints a histogram showing for each number of guesses how many 
      * percent of the games was solved with that number of guesses
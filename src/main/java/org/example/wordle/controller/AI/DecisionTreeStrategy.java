@@ -0,0 +1,88 @@
+package org.example.wordle.controller.AI;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.DecisionTree;
+import org.example.wordle.model.solver.GuessPolicy;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+
+import java.util.ArrayList;
+
+/**
+ * This strategy plays a {@link DecisionTree} compiled ahead of time for a
+ * {@link GuessPolicy}, so making a guess is only a lookup of the feedback in
+ * the current node. If a game leaves the tree, for example because the
+ * feedback was given on another guess than the suggested one, the strategy
+ * falls back to applying the policy to the remaining possible answers. Like
+ * the other strategies it throws an {@link IllegalStateException} if no answer
+ * fits the feedback.
+ */
+public class DecisionTreeStrategy implements IStrategy {
+
+    private WordleDictionary wordleDictionary;
+    private GuessPolicy policy;
+    private DecisionTree tree;
+    private int node;
+    private ArrayList<WordleWord> feedbacks = new ArrayList<>();
+
+    /**
+     * Constructs a DecisionTreeStrategy that follows the entropy policy.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     */
+    public DecisionTreeStrategy(WordleDictionary wordleDictionary) {
+        this(wordleDictionary, GuessPolicy.ENTROPY);
+    }
+
+    /**
+     * Constructs a DecisionTreeStrategy that follows the given policy.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     * @param policy           The policy the tree is compiled for.
+     */
+    public DecisionTreeStrategy(WordleDictionary wordleDictionary, GuessPolicy policy) {
+        this.wordleDictionary = wordleDictionary;
+        this.policy = policy;
+        this.tree = DecisionTree.load(wordleDictionary, policy);
+        reset();
+    }
+
+    private DecisionTreeStrategy(DecisionTreeStrategy other) {
+        this.wordleDictionary = other.wordleDictionary;
+        this.policy = other.policy;
+        this.tree = other.tree;
+        this.node = other.node;
+        this.feedbacks.addAll(other.feedbacks);
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback != null) {
+            feedbacks.add(feedback);
+            if (node >= 0 && feedback.getWordString().equals(wordleDictionary.getWord(tree.guess(node))))
+                node = tree.child(node, feedback.getFeedbackCode());
+            else
+                node = -1;
+        }
+        if (node >= 0)
+            return wordleDictionary.getWord(tree.guess(node));
+
+        WordleWordList guesses = new WordleWordList(wordleDictionary);
+        for (WordleWord f : feedbacks)
+            guesses.eliminateWords(f);
+        if (guesses.size() == 0)
+            throw new IllegalStateException("No answer fits the feedback");
+        return wordleDictionary.getWord(policy.chooseGuess(wordleDictionary, guesses.possibleAnswerIds()));
+    }
+
+    @Override
+    public void reset() {
+        feedbacks.clear();
+        node = tree.root();
+    }
+
+    @Override
+    public IStrategy copy() {
+        return new DecisionTreeStrategy(this);
+    }
+}
@@ -47,8 +47,9 @@ public class EliminateStrategy implements IStrategy {
         }
 
         // Choose a random word from the remaining possible guesses
-        int randIndex = random.nextInt(guesses.size());
-        return guesses.possibleAnswers().get(randIndex);
+        int[] possibleAnswers = guesses.possibleAnswerIds();
+        int answerId = possibleAnswers[random.nextInt(possibleAnswers.length)];
+        return wordleDictionary.getAnswer(answerId);
     }
 
     /**
@@ -0,0 +1,204 @@
+package org.example.wordle.controller.AI;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.HardModeRule;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+
+import java.util.Arrays;
+
+/**
+ * Plays a strategy against every answer of the dictionary at once, by walking
+ * the decision tree the strategy makes. All answers that got the same feedback
+ * so far are in the same node of the tree, and the strategy is asked for the
+ * guess of each node only once. The answers are then split by the feedback
+ * they give on the guess, and the game goes on with a copy of the strategy
+ * for each feedback, see {@link IStrategy#copy()}.
+ * <br>
+ * </br>
+ * The work is proportional to the number of nodes in the tree instead of the
+ * number of answers times the number of guesses, and the statistics are exact
+ * for the whole dictionary instead of a sample.
+ */
+public class ExhaustiveEvaluator {
+
+    private final WordleDictionary dictionary;
+    private final PatternTable patterns;
+    private final int patternCount;
+    private final int winningCode;
+    private final int maxGuesses;
+
+    /**
+     * Number of guesses made by the strategy in the last evaluation.
+     */
+    private int nodes;
+    /**
+     * Number of answers whose games have ended in the current evaluation.
+     */
+    private int finished;
+    private Progress progress;
+
+    /**
+     * Is told each time a game ends.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        /**
+         * @param finished the number of games that have ended
+         * @param won      if the last game was won
+         */
+        void gameEnded(int finished, boolean won);
+    }
+
+    /**
+     * Creates an evaluator for the answers of the given dictionary.
+     *
+     * @param dictionary
+     * @param maxGuesses the number of guesses after which a game is lost
+     */
+    public ExhaustiveEvaluator(WordleDictionary dictionary, int maxGuesses) {
+        this.dictionary = dictionary;
+        this.patterns = dictionary.getPatternTable();
+        this.patternCount = WordleAnswer.patternCount(dictionary.WORD_LENGTH);
+        this.winningCode = WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH);
+        this.maxGuesses = maxGuesses;
+    }
+
+    /**
+     * Checks if the strategy can be evaluated by this evaluator. Strategies that
+     * can not be copied must be played against each answer on its own.
+     *
+     * @param strategy
+     * @return true if the strategy can be copied
+     */
+    public static boolean supports(IStrategy strategy) {
+        return strategy.copy() != null;
+    }
+
+    /**
+     * Plays the strategy against every answer of the dictionary. The strategy
+     * must be at the start of a game, and is in the middle of some game
+     * afterwards. Hard mode strategies play with the hard mode rule turned on.
+     *
+     * @param strategy     the strategy to evaluate
+     * @param strategyName the name of the statistics
+     * @param progress     is told each time a game ends, or null
+     * @return the statistics of the games, in answer order, and of the time and
+     *         memory of each guess made
+     * @throws IllegalArgumentException if the strategy can not be copied, or a
+     *                                  hard mode strategy breaks the rule
+     */
+    public AIStatistics evaluate(IStrategy strategy, String strategyName, Progress progress) {
+        if (!supports(strategy))
+            throw new IllegalArgumentException(strategyName + " can not be copied");
+        this.nodes = 0;
+        this.finished = 0;
+        this.progress = progress;
+
+        int[] answers = new int[dictionary.answerCount()];
+        Arrays.setAll(answers, i -> i);
+        // Guesses of the game of each answer, or -1 if it failed
+        int[] results = new int[answers.length];
+        AIStatistics stats = new AIStatistics(strategyName);
+        HardModeRule rule = strategy.isHardMode() ? new HardModeRule(dictionary) : null;
+        play(strategy, null, rule, answers, 1, results, stats);
+
+        for (int guesses : results) {
+            if (guesses < 0)
+                stats.failed();
+            else
+                stats.addGame(guesses);
+        }
+        return stats;
+    }
+
+    /**
+     * Plays one node of the tree: the strategy guesses once for all the given
+     * answers, which all gave the same feedback so far.
+     *
+     * @param strategy the strategy after the feedback so far
+     * @param feedback the last feedback, or null before the first guess
+     * @param rule     the hard mode rule after the feedback so far, or null
+     * @param answers  answer IDs of the answers in this node
+     * @param guess    the number of the guess made in this node
+     * @param results  the guesses of the game of each answer
+     * @param stats    records the time and memory of the guess
+     */
+    private void play(IStrategy strategy, WordleWord feedback, HardModeRule rule, int[] answers, int guess,
+            int[] results, AIStatistics stats) {
+        String word;
+        try {
+            word = stats.makeGuess(strategy, feedback, guess);
+        } catch (IllegalStateException e) {
+            end(answers, -1, results);
+            return;
+        }
+        nodes++;
+        if (rule != null)
+            rule.check(word);
+
+        int wordId = dictionary.getWordId(word);
+        int[] codes = new int[answers.length];
+        int[] counts = new int[patternCount];
+        for (int i = 0; i < answers.length; i++) {
+            codes[i] = wordId >= 0 ? patterns.getPattern(wordId, answers[i])
+                    : patterns.getPattern(word, dictionary.getAnswer(answers[i]));
+            counts[codes[i]]++;
+        }
+        if (counts[winningCode] > 0)
+            end(new int[] { answers[indexOf(codes, winningCode)] }, guess, results);
+
+        int lastCode = -1;
+        for (int code = 0; code < patternCount; code++) {
+            if (counts[code] > 0 && code != winningCode)
+                lastCode = code;
+        }
+        for (int code = 0; code <= lastCode; code++) {
+            if (counts[code] == 0 || code == winningCode)
+                continue;
+            int[] part = new int[counts[code]];
+            int size = 0;
+            for (int i = 0; i < answers.length; i++) {
+                if (codes[i] == code)
+                    part[size++] = answers[i];
+            }
+            if (guess >= maxGuesses) {
+                end(part, -1, results);
+                continue;
+            }
+            // The original goes down the last branch, after all copies are made
+            WordleWord partFeedback = WordleWord.fromFeedbackCode(word, code);
+            IStrategy partStrategy = code == lastCode ? strategy : strategy.copy();
+            HardModeRule partRule = rule == null ? null : code == lastCode ? rule : rule.copy();
+            if (partRule != null)
+                partRule.addFeedback(partFeedback);
+            play(partStrategy, partFeedback, partRule, part, guess + 1, results, stats);
+        }
+    }
+
+    private static int indexOf(int[] codes, int code) {
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] == code)
+                return i;
+        }
+        return -1;
+    }
+
+    private void end(int[] answers, int guesses, int[] results) {
+        for (int answerId : answers) {
+            results[answerId] = guesses;
+            finished++;
+            if (progress != null)
+                progress.gameEnded(finished, guesses >= 0);
+        }
+    }
+
+    /**
+     * @return the number of guesses the strategy made in the last evaluation,
+     *         which is the number of nodes in its decision tree
+     */
+    public int getNodes() {
+        return nodes;
+    }
+}
@@ -4,8 +4,6 @@ import org.example.wordle.model.WordleDictionary;
 import org.example.wordle.model.word.WordleWord;
 import org.example.wordle.model.word.WordleWordList;
 
-import java.util.Map;
-
 /**
  * This strategy finds the word within the possible words that has the highest
  * expected number of green matches.
@@ -25,6 +23,11 @@ public class FrequencyStrategy implements IStrategy {
         reset();
     }
 
+    private FrequencyStrategy(FrequencyStrategy other) {
+        this.wordleDictionary = other.wordleDictionary;
+        this.guesses = other.guesses.copy();
+    }
+
     /**
      * Makes a guess based on letter frequencies.
      * If feedback is provided, it updates the list of possible guesses.
@@ -39,14 +42,14 @@ public class FrequencyStrategy implements IStrategy {
             guesses.eliminateWords(feedback);
         }
 
-        // Calculate letter frequencies for remaining possible answers
-        Map<Character, Integer>[] letterFrequencies = guesses.calculateLetterFrequencies(guesses.possibleAnswers());
+        // Letter frequencies of the remaining possible answers, kept up to date by the word list
+        int[][] letterFrequencies = guesses.letterFrequencies();
 
         // Find the best guess based on letter frequencies
-        String bestWord = guesses.calculateGuessBasedOnFrequency(guesses.possibleAnswers(), letterFrequencies);
+        int bestWord = guesses.calculateGuessBasedOnFrequency(letterFrequencies);
 
         // Return the best guess word
-        return bestWord;
+        return wordleDictionary.getWord(bestWord);
     }
 
     /**
@@ -56,4 +59,9 @@ public class FrequencyStrategy implements IStrategy {
     public void reset() {
         guesses = new WordleWordList(wordleDictionary);
     }
+
+    @Override
+    public IStrategy copy() {
+        return new FrequencyStrategy(this);
+    }
 }
\ No newline at end of file
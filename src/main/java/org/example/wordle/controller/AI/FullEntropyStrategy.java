@@ -0,0 +1,82 @@
+package org.example.wordle.controller.AI;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+
+/**
+ * This strategy guesses the word with the highest entropy among all legal
+ * guess words, also words that can not be the answer. Such words often split
+ * the possible answers better than any of the possible answers themselves.
+ * Possible answers are preferred when the entropy is equal. In hard mode only
+ * guesses that use all hints are considered.
+ */
+public class FullEntropyStrategy implements IStrategy {
+
+    private WordleDictionary wordleDictionary;
+    private WordleWordList guesses;
+    private boolean hardMode;
+
+    /**
+     * The first guess is the same in every game, so it is only searched for once.
+     */
+    private int firstGuess = -1;
+
+    /**
+     * Constructs a FullEntropyStrategy with the given dictionary.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     */
+    public FullEntropyStrategy(WordleDictionary wordleDictionary) {
+        this(wordleDictionary, false);
+    }
+
+    /**
+     * Constructs a FullEntropyStrategy with the given dictionary.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     * @param hardMode         If true, only guesses that use all hints are made.
+     */
+    public FullEntropyStrategy(WordleDictionary wordleDictionary, boolean hardMode) {
+        this.wordleDictionary = wordleDictionary;
+        this.hardMode = hardMode;
+        reset();
+    }
+
+    private FullEntropyStrategy(FullEntropyStrategy other) {
+        this.wordleDictionary = other.wordleDictionary;
+        this.guesses = other.guesses.copy();
+        this.hardMode = other.hardMode;
+        this.firstGuess = other.firstGuess;
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null) {
+            if (firstGuess < 0)
+                firstGuess = guesses.bestGuessIdFromAllWords();
+            return wordleDictionary.getWord(firstGuess);
+        }
+        guesses.eliminateWords(feedback);
+        int guess = guesses.bestGuessIdFromAllWords();
+        if (guess < 0)
+            throw new IllegalStateException("No answer fits the feedback");
+        return wordleDictionary.getWord(guess);
+    }
+
+    @Override
+    public void reset() {
+        guesses = new WordleWordList(wordleDictionary);
+        guesses.setHardMode(hardMode);
+    }
+
+    @Override
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    @Override
+    public IStrategy copy() {
+        return new FullEntropyStrategy(this);
+    }
+}
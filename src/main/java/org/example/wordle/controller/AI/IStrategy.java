@@ -17,4 +17,28 @@ public interface IStrategy {
      */
     void reset();
 
+    /**
+     * Hard mode strategies only make guesses that use all hints given so far.
+     * @return true if the strategy plays by the hard mode rule
+     */
+    default boolean isHardMode() {
+        return false;
+    }
+
+    /**
+     * Copies this strategy in the middle of a game, so that the game can be
+     * continued with different feedback by the copy and the original. Caches
+     * that do not depend on the game may be shared between them.
+     * <br>
+     * </br>
+     * Only strategies that always make the same guess after the same feedback
+     * can be copied, since a copy stands in for every game that got that
+     * feedback.
+     *
+     * @return a copy of this strategy, or null if it can not be copied
+     */
+    default IStrategy copy() {
+        return null;
+    }
+
 }
@@ -0,0 +1,96 @@
+package org.example.wordle.controller.AI;
+
+/**
+ * A histogram of non-negative values in logarithmic buckets. Each power of two
+ * is split into {@value #SUB_BUCKETS} buckets, so a value read back from the
+ * histogram is at most 1/{@value #SUB_BUCKETS} above the recorded value, and
+ * the histogram takes the same small space whether the values are nanoseconds
+ * or gigabytes. The largest value is kept exactly.
+ */
+public class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values below {@link #SUB_BUCKETS} have a bucket each, and every power of
+     * two above has {@link #SUB_BUCKETS} buckets.
+     */
+    private final long[] counts = new long[SUB_BUCKETS * (64 - SUB_BUCKET_BITS)];
+    private long count;
+    private long max;
+
+    /**
+     * Records a value.
+     *
+     * @param value
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void record(long value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Values must not be negative, but got " + value);
+        counts[bucket(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * (shift + 1) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Adds the values recorded by another histogram to this one.
+     *
+     * @param other
+     */
+    public void add(LogHistogram other) {
+        for (int i = 0; i < counts.length; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Gets the value that the given fraction of the recorded values are at or
+     * below, rounded up to the highest value of its bucket.
+     *
+     * @param fraction between 0 and 1, for example 0.99 for the 99th percentile
+     * @return the value at the fraction, or 0 if nothing is recorded
+     */
+    public long percentile(double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(highestValue(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the largest recorded value, or 0 if nothing is recorded
+     */
+    public long getMax() {
+        return max;
+    }
+}
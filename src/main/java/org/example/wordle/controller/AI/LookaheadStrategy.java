@@ -0,0 +1,75 @@
+package org.example.wordle.controller.AI;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.LookaheadSearch;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+
+import java.time.Duration;
+
+/**
+ * This strategy guesses the word with the lowest expected number of guesses,
+ * looking two guesses ahead with a {@link LookaheadSearch}. It spends more
+ * time on each move than the entropy strategies in order to need fewer
+ * guesses. The time of each move is limited by a budget, after which the best
+ * guess found so far is used.
+ */
+public class LookaheadStrategy implements IStrategy {
+
+    private static final Duration DEFAULT_BUDGET = Duration.ofMillis(200);
+    private static final int SHORTLIST_SIZE = 16;
+    private static final int FOLLOW_UP_SIZE = 8;
+
+    private WordleDictionary wordleDictionary;
+    private WordleWordList guesses;
+    private LookaheadSearch search;
+    private Duration budget;
+
+    /**
+     * The first guess is the same in every game, so it is only searched for once,
+     * without a time limit.
+     */
+    private int firstGuess = -1;
+
+    /**
+     * Constructs a LookaheadStrategy with the default time budget per move.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     */
+    public LookaheadStrategy(WordleDictionary wordleDictionary) {
+        this(wordleDictionary, DEFAULT_BUDGET);
+    }
+
+    /**
+     * Constructs a LookaheadStrategy with the given time budget per move.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     * @param budget           The time each move may spend on scoring guesses.
+     */
+    public LookaheadStrategy(WordleDictionary wordleDictionary, Duration budget) {
+        this.wordleDictionary = wordleDictionary;
+        this.budget = budget;
+        this.search = new LookaheadSearch(wordleDictionary, SHORTLIST_SIZE, FOLLOW_UP_SIZE);
+        reset();
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null) {
+            if (firstGuess < 0)
+                firstGuess = search.bestGuess(guesses.possibleAnswerIds(), Long.MAX_VALUE);
+            return wordleDictionary.getWord(firstGuess);
+        }
+        guesses.eliminateWords(feedback);
+        long deadline = System.nanoTime() + budget.toNanos();
+        int guess = search.bestGuess(guesses.possibleAnswerIds(), deadline);
+        if (guess < 0)
+            throw new IllegalStateException("No answer fits the feedback");
+        return wordleDictionary.getWord(guess);
+    }
+
+    @Override
+    public void reset() {
+        guesses = new WordleWordList(wordleDictionary);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.wordle.controller.AI;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.GuessPolicy;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+
+/**
+ * This strategy guesses the word that leaves the fewest possible answers in
+ * the worst case, among all legal guess words. It does not need the fewest
+ * guesses on average, but it bounds how many guesses a game can take, which
+ * for the english dictionary is well within the rows of the board. Possible
+ * answers are preferred when the worst cases are equal. In hard mode only
+ * guesses that use all hints are considered.
+ */
+public class MinimaxStrategy implements IStrategy {
+
+    private WordleDictionary wordleDictionary;
+    private WordleWordList guesses;
+    private boolean hardMode;
+
+    /**
+     * The first guess is the same in every game, so it is only searched for once.
+     */
+    private int firstGuess = -1;
+
+    /**
+     * Constructs a MinimaxStrategy with the given dictionary.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     */
+    public MinimaxStrategy(WordleDictionary wordleDictionary) {
+        this(wordleDictionary, false);
+    }
+
+    /**
+     * Constructs a MinimaxStrategy with the given dictionary.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     * @param hardMode         If true, only guesses that use all hints are made.
+     */
+    public MinimaxStrategy(WordleDictionary wordleDictionary, boolean hardMode) {
+        this.wordleDictionary = wordleDictionary;
+        this.hardMode = hardMode;
+        reset();
+    }
+
+    private MinimaxStrategy(MinimaxStrategy other) {
+        this.wordleDictionary = other.wordleDictionary;
+        this.guesses = other.guesses.copy();
+        this.hardMode = other.hardMode;
+        this.firstGuess = other.firstGuess;
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null) {
+            if (firstGuess < 0)
+                firstGuess = GuessPolicy.MINIMAX.chooseGuess(wordleDictionary, guesses.possibleAnswerIds());
+            return wordleDictionary.getWord(firstGuess);
+        }
+        guesses.eliminateWords(feedback);
+        int guess = GuessPolicy.MINIMAX.chooseGuess(wordleDictionary, guesses.possibleAnswerIds(),
+                guesses.allowedGuesses());
+        if (guess < 0)
+            throw new IllegalStateException("No answer fits the feedback");
+        return wordleDictionary.getWord(guess);
+    }
+
+    @Override
+    public void reset() {
+        guesses = new WordleWordList(wordleDictionary);
+        guesses.setHardMode(hardMode);
+    }
+
+    @Override
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    @Override
+    public IStrategy copy() {
+        return new MinimaxStrategy(this);
+    }
+}
@@ -1,37 +1,176 @@
 package org.example.wordle.controller.AI;
 
 import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.EndgameSolver;
+import org.example.wordle.model.solver.TranspositionTable;
 import org.example.wordle.model.word.WordleWord;
 import org.example.wordle.model.word.WordleWordList;
 
 import java.util.ArrayList;
-import java.util.Map;
 
 public class MyStrategy implements IStrategy {
 
+    /**
+     * Name of the guess policy in the opening book cache. Change it whenever
+     * {@link #firstGuess(WordleWordList)} or {@link #nextGuess(WordleWordList)}
+     * changes, so that books of the old policy are not used.
+     */
+    private static final String POLICY_NAME = "MyStrategy-2";
+    private static final int BOOK_DEPTH = 3;
+    private static final int TABLE_CAPACITY = 1 << 14;
+    /**
+     * With this many possible answers or fewer, guesses are found by the exact
+     * endgame solver instead of by entropy.
+     */
+    private static final int ENDGAME_THRESHOLD = EndgameSolver.MAX_CANDIDATES;
+    private static final int ENDGAME_OUTSIDERS = 32;
 
     private WordleDictionary wordleDictionary;
     private WordleWordList guesses;
     private int guessCount = 0;
     private ArrayList<WordleWord> feedbacks = new ArrayList<>();
+    private OpeningBook openingBook;
+    /**
+     * Best guesses of earlier games, kept across resets since many games reach
+     * the same possible answers.
+     */
+    private final TranspositionTable transpositions;
+    private final EndgameSolver endgameSolver;
+    /**
+     * The moves made by this strategy. Copies count into the same moves as the
+     * original.
+     */
+    private final MoveCounts moveCounts;
+    private final boolean hardMode;
+
+    private static class MoveCounts {
+        private int moves = 0;
+        private int endgameMoves = 0;
+    }
     //avg: 3.455, Seed:14212l, N_games: 200
     public MyStrategy(WordleDictionary wordleDictionary) {
+        this(wordleDictionary, false);
+    }
+
+    /**
+     * In hard mode the endgame solver only guesses possible answers, which
+     * always use all hints. All other guesses are possible answers already.
+     *
+     * @param wordleDictionary
+     * @param hardMode if true, only guesses that use all hints are made
+     */
+    public MyStrategy(WordleDictionary wordleDictionary, boolean hardMode) {
         this.wordleDictionary = wordleDictionary;
+        this.hardMode = hardMode;
+        this.transpositions = new TranspositionTable(TABLE_CAPACITY);
+        this.endgameSolver = new EndgameSolver(wordleDictionary, hardMode ? 0 : ENDGAME_OUTSIDERS);
+        this.moveCounts = new MoveCounts();
         reset();
     }
+
+    /**
+     * Copies a strategy in the middle of a game. The copy shares the opening
+     * book, the endgame solver, the table of best guesses and the move counts
+     * with the original.
+     */
+    private MyStrategy(MyStrategy other) {
+        this.wordleDictionary = other.wordleDictionary;
+        this.hardMode = other.hardMode;
+        this.transpositions = other.transpositions;
+        this.endgameSolver = other.endgameSolver;
+        this.moveCounts = other.moveCounts;
+        this.openingBook = other.openingBook;
+        this.guesses = other.guesses.copy();
+        this.guessCount = other.guessCount;
+        this.feedbacks.addAll(other.feedbacks);
+    }
     @Override
     public String makeGuess(WordleWord feedback) {
         if(feedback != null) {
             guesses.eliminateWords(feedback);
             feedbacks.add(feedback);
         }
+        int bookGuess = bookGuess();
         if(guessCount < 1){
             guessCount++;
-            Map<Character,Integer>[] letterFrequencies = guesses.calculateLetterFrequencies(guesses.possibleAnswers());
-            return guesses.calculateFirstGuess(guesses.possibleAnswers(),letterFrequencies);
+            return wordleDictionary.getWord(bookGuess >= 0 ? bookGuess : firstGuess(guesses));
+        }
+        moveCounts.moves++;
+        if(guesses.size() <= ENDGAME_THRESHOLD)
+            moveCounts.endgameMoves++;
+        if(bookGuess >= 0)
+            return wordleDictionary.getWord(bookGuess);
+
+        return wordleDictionary.getWord(nextGuess(guesses));
+    }
+
+    /**
+     * Looks up the next guess in the opening book. The book only holds the
+     * guesses this strategy would make itself, so the lookup is only done while
+     * every earlier guess came from the book.
+     *
+     * @return word ID of the next guess, or -1 if it is not in the book
+     */
+    private int bookGuess() {
+        if(feedbacks.size() >= BOOK_DEPTH)
+            return -1;
+        if(openingBook == null)
+            openingBook = OpeningBook.load(wordleDictionary, hardMode ? POLICY_NAME + "-hard" : POLICY_NAME, BOOK_DEPTH,
+                    MyStrategy::firstGuess, this::nextGuess);
+
+        int guess = openingBook.opener();
+        for(int i = 0; i < feedbacks.size() && guess >= 0; i++) {
+            WordleWord feedback = feedbacks.get(i);
+            if(!feedback.getWordString().equals(wordleDictionary.getWord(guess)))
+                return -1;
+            guess = i == 0 ? openingBook.reply(feedback.getFeedbackCode())
+                    : openingBook.reply(feedbacks.get(0).getFeedbackCode(), feedback.getFeedbackCode());
         }
+        return guess;
+    }
 
-        return guesses.bestGuessBasedOnEntropy();
+    private static int firstGuess(WordleWordList guesses) {
+        int[][] letterFrequencies = guesses.letterFrequencies();
+        return guesses.calculateFirstGuess(letterFrequencies);
+    }
+
+    private int nextGuess(WordleWordList guesses) {
+        int guess = transpositions.get(guesses.fingerprint(), guesses.size());
+        if(guess < 0) {
+            if(guesses.size() <= ENDGAME_THRESHOLD)
+                guess = endgameSolver.bestGuess(guesses.possibleAnswerIds());
+            else
+                guess = guesses.bestGuessIdBasedOnEntropy();
+            transpositions.put(guesses.fingerprint(), guesses.size(), guess);
+        }
+        return guess;
+    }
+
+    /**
+     * @return the number of guesses after the first made by this strategy
+     */
+    public int getMoves() {
+        return moveCounts.moves;
+    }
+
+    /**
+     * @return the number of guesses made in the endgame, with at most
+     *         {@link #ENDGAME_THRESHOLD} possible answers
+     */
+    public int getEndgameMoves() {
+        return moveCounts.endgameMoves;
+    }
+
+    /**
+     * @return the table of best guesses shared by all games of this strategy
+     */
+    public TranspositionTable getTranspositionTable() {
+        return transpositions;
+    }
+
+    @Override
+    public boolean isHardMode() {
+        return hardMode;
     }
 
     @Override
@@ -41,5 +180,10 @@ public class MyStrategy implements IStrategy {
         guessCount = 0;
         guesses = new WordleWordList(wordleDictionary);
     }
+
+    @Override
+    public IStrategy copy() {
+        return new MyStrategy(this);
+    }
     
 }
@@ -0,0 +1,184 @@
+package org.example.wordle.controller.AI;
+
+import org.example.util.CacheFiles;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * An opening book holds the first moves of a deterministic strategy: the
+ * opening guess, the reply to every feedback on the opening guess, and
+ * optionally the third guess for every pair of feedbacks. For a fixed
+ * dictionary these only depend on the feedback, so they are computed once and
+ * saved to a cache file named after the dictionary checksum and the policy.
+ * The header repeats the checksum, so a file of another dictionary is rebuilt.
+ */
+public class OpeningBook {
+
+    private static final int MAGIC = 0x574f424b;
+    private static final int HEADER_INTS = 5;
+
+    private final int patternCount;
+    private final int depth;
+    private final int opener;
+
+    /**
+     * The second guess for each feedback code on the opener, or -1.
+     */
+    private final int[] replies;
+
+    /**
+     * The third guess for each pair of feedback codes, indexed by
+     * <code>first * patternCount + second</code>, or -1. Empty if the depth is
+     * less than 3.
+     */
+    private final int[] thirdMoves;
+
+    private OpeningBook(int patternCount, int depth, int opener, int[] replies, int[] thirdMoves) {
+        this.patternCount = patternCount;
+        this.depth = depth;
+        this.opener = opener;
+        this.replies = replies;
+        this.thirdMoves = thirdMoves;
+    }
+
+    /**
+     * Loads the opening book of the given policy from the cache, or builds it and
+     * saves it if no cached book exists.
+     *
+     * @param dictionary
+     * @param policyName a name that changes whenever the policy changes
+     * @param depth      the number of moves in the book, 2 or 3
+     * @param firstMove  the policy for the first guess, as a word ID
+     * @param nextMove   the policy for later guesses, as a word ID, given the
+     *                   word list after the feedback has been applied
+     * @return the opening book
+     */
+    public static OpeningBook load(WordleDictionary dictionary, String policyName, int depth,
+            ToIntFunction<WordleWordList> firstMove, ToIntFunction<WordleWordList> nextMove) {
+        if (depth < 2 || depth > 3)
+            throw new IllegalArgumentException("Opening book depth must be 2 or 3, but was " + depth);
+        int patternCount = WordleAnswer.patternCount(dictionary.WORD_LENGTH);
+        int checksum = (int) Long.parseLong(dictionary.getChecksum(), 16);
+        Path file = CacheFiles.cacheFile("opening-" + dictionary.getChecksum() + "-" + policyName + "-" + depth + ".bin");
+
+        OpeningBook book = read(CacheFiles.map(file), checksum, patternCount, depth);
+        if (book == null) {
+            book = build(dictionary, patternCount, depth, firstMove, nextMove);
+            CacheFiles.write(file, book.toBytes(checksum));
+        }
+        return book;
+    }
+
+    private static OpeningBook build(WordleDictionary dictionary, int patternCount, int depth,
+            ToIntFunction<WordleWordList> firstMove, ToIntFunction<WordleWordList> nextMove) {
+        int opener = firstMove.applyAsInt(new WordleWordList(dictionary));
+        int[] replies = new int[patternCount];
+        int[] thirdMoves = new int[depth >= 3 ? patternCount * patternCount : 0];
+        Arrays.fill(replies, -1);
+        Arrays.fill(thirdMoves, -1);
+
+        boolean[] reachable = reachablePatterns(dictionary, opener, new WordleWordList(dictionary).possibleAnswerIds());
+        int winningCode = WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH);
+        String openerWord = dictionary.getWord(opener);
+        dictionary.getSolverExecutor().forEach(0, patternCount, first -> {
+            if (!reachable[first] || first == winningCode)
+                return;
+            WordleWordList afterFirst = new WordleWordList(dictionary);
+            afterFirst.eliminateWords(WordleWord.fromFeedbackCode(openerWord, first));
+            int reply = nextMove.applyAsInt(afterFirst);
+            replies[first] = reply;
+            if (depth < 3)
+                return;
+
+            String replyWord = dictionary.getWord(reply);
+            boolean[] reachableSecond = reachablePatterns(dictionary, reply, afterFirst.possibleAnswerIds());
+            for (int second = 0; second < patternCount; second++) {
+                if (!reachableSecond[second] || second == winningCode)
+                    continue;
+                WordleWordList afterSecond = new WordleWordList(dictionary);
+                afterSecond.eliminateWords(WordleWord.fromFeedbackCode(openerWord, first));
+                afterSecond.eliminateWords(WordleWord.fromFeedbackCode(replyWord, second));
+                thirdMoves[first * patternCount + second] = nextMove.applyAsInt(afterSecond);
+            }
+        });
+        return new OpeningBook(patternCount, depth, opener, replies, thirdMoves);
+    }
+
+    private static boolean[] reachablePatterns(WordleDictionary dictionary, int guessId, int[] answerIds) {
+        PatternTable patterns = dictionary.getPatternTable();
+        boolean[] reachable = new boolean[WordleAnswer.patternCount(dictionary.WORD_LENGTH)];
+        for (int answerId : answerIds)
+            reachable[patterns.getPattern(guessId, answerId)] = true;
+        return reachable;
+    }
+
+    private ByteBuffer toBytes(int checksum) {
+        ByteBuffer bytes = ByteBuffer.allocate(4 * (HEADER_INTS + replies.length + thirdMoves.length));
+        bytes.asIntBuffer().put(MAGIC).put(checksum).put(patternCount).put(depth).put(opener).put(replies).put(thirdMoves);
+        return bytes;
+    }
+
+    private static OpeningBook read(MappedByteBuffer file, int checksum, int patternCount, int depth) {
+        if (file == null)
+            return null;
+        int thirdMoveCount = depth >= 3 ? patternCount * patternCount : 0;
+        IntBuffer ints = file.asIntBuffer();
+        if (ints.capacity() != HEADER_INTS + patternCount + thirdMoveCount
+                || ints.get(0) != MAGIC || ints.get(1) != checksum
+                || ints.get(2) != patternCount || ints.get(3) != depth)
+            return null;
+        int opener = ints.get(4);
+        int[] replies = new int[patternCount];
+        int[] thirdMoves = new int[thirdMoveCount];
+        ints.position(HEADER_INTS);
+        ints.get(replies).get(thirdMoves);
+        return new OpeningBook(patternCount, depth, opener, replies, thirdMoves);
+    }
+
+    /**
+     * @return the word ID of the first guess
+     */
+    public int opener() {
+        return opener;
+    }
+
+    /**
+     * Gets the second guess.
+     *
+     * @param first the feedback code on the opener
+     * @return the word ID of the second guess, or -1 if it is not in the book
+     */
+    public int reply(int first) {
+        return replies[first];
+    }
+
+    /**
+     * Gets the third guess.
+     *
+     * @param first  the feedback code on the opener
+     * @param second the feedback code on the second guess
+     * @return the word ID of the third guess, or -1 if it is not in the book
+     */
+    public int reply(int first, int second) {
+        if (depth < 3)
+            return -1;
+        return thirdMoves[first * patternCount + second];
+    }
+
+    /**
+     * @return the number of moves in the book
+     */
+    public int depth() {
+        return depth;
+    }
+}
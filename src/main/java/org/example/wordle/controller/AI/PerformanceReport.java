@@ -0,0 +1,270 @@
+package org.example.wordle.controller.AI;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the results of an {@link AIPerformance} run to files that programs
+ * can read, and compares a run to the results of an earlier run.
+ * <br>
+ * </br>
+ * The JSON file holds everything: how the run was set up, the JVM it ran on,
+ * and for each strategy the guess distribution and the time and memory of the
+ * guesses of each turn. The CSV file holds one row for each turn of each
+ * strategy, and a row with turn <code>all</code> that sums up the strategy.
+ * Those summary rows are what {@link #compare(Path, double, double)} reads
+ * back as the baseline.
+ */
+public class PerformanceReport {
+
+    private static final String CSV_HEADER = "strategy,games,failures,average,max,turn,guesses,"
+            + "time_p50_ns,time_p99_ns,time_max_ns,allocated_p50_bytes,allocated_p99_bytes,allocated_max_bytes";
+    private static final String ALL_TURNS = "all";
+    /**
+     * The parts of the set up of a run that must be the same for two runs to
+     * be compared.
+     */
+    private static final List<String> RUN_SETUP = List.of("seed", "games", "exhaustive", "threads");
+
+    private final Map<String, Object> run = new LinkedHashMap<>();
+    private final List<AIStatistics> results;
+
+    /**
+     * Creates a report of the given results.
+     *
+     * @param results    the statistics of each strategy
+     * @param seed       the seed the answers were drawn from
+     * @param games      the number of games each strategy played
+     * @param exhaustive true if every answer was played instead of random ones
+     * @param threads    the number of threads playing games
+     */
+    public PerformanceReport(List<AIStatistics> results, long seed, int games, boolean exhaustive, int threads) {
+        this.results = results;
+        run.put("time", Instant.now().toString());
+        run.put("seed", seed);
+        run.put("games", games);
+        run.put("exhaustive", exhaustive);
+        run.put("threads", threads);
+    }
+
+    /**
+     * Writes the report as JSON.
+     *
+     * @param file
+     * @throws IOException if the file can not be written
+     */
+    public void writeJson(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("{");
+            for (Map.Entry<String, Object> entry : run.entrySet())
+                out.printf("  %s: %s,%n", quote(entry.getKey()), json(entry.getValue()));
+            out.printf("  \"jvm\": %s,%n", json(jvm()));
+            out.println("  \"strategies\": [");
+            for (int i = 0; i < results.size(); i++)
+                out.printf("    %s%s%n", json(strategy(results.get(i))), i + 1 < results.size() ? "," : "");
+            out.println("  ]");
+            out.println("}");
+        }
+    }
+
+    private static Map<String, Object> jvm() {
+        Map<String, Object> jvm = new LinkedHashMap<>();
+        jvm.put("version", System.getProperty("java.version"));
+        jvm.put("vendor", System.getProperty("java.vendor"));
+        jvm.put("vm", System.getProperty("java.vm.name"));
+        jvm.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        jvm.put("processors", Runtime.getRuntime().availableProcessors());
+        jvm.put("maxMemoryBytes", Runtime.getRuntime().maxMemory());
+        jvm.put("solverParallelism", AIPerformance.wordleDictionary.getSolverExecutor().parallelism());
+        return jvm;
+    }
+
+    private static Map<String, Object> strategy(AIStatistics stats) {
+        Map<String, Object> strategy = new LinkedHashMap<>();
+        strategy.put("name", stats.getStrategyName());
+        strategy.put("deterministic", stats.isDeterministic());
+        strategy.put("games", stats.getNumGames());
+        strategy.put("failures", stats.getFailures());
+        strategy.put("wins", stats.getWins());
+        strategy.put("average", stats.getAverage());
+        strategy.put("max", stats.getMaxGuesses());
+        strategy.put("runNanos", stats.getRunNanos());
+        strategy.put("distribution", new TreeMap<>(stats.getDistribution()));
+        strategy.put("timeNanos", percentiles(stats.getAllLatencies()));
+        List<Object> turns = new ArrayList<>();
+        for (int turn = 1; turn <= stats.getTurns(); turn++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("turn", turn);
+            row.put("guesses", stats.getLatencies(turn).getCount());
+            row.put("timeNanos", percentiles(stats.getLatencies(turn)));
+            if (stats.getAllocations(turn).getCount() > 0)
+                row.put("allocatedBytes", percentiles(stats.getAllocations(turn)));
+            turns.add(row);
+        }
+        strategy.put("turns", turns);
+        return strategy;
+    }
+
+    private static Map<String, Object> percentiles(LogHistogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", histogram.percentile(0.5));
+        percentiles.put("p99", histogram.percentile(0.99));
+        percentiles.put("max", histogram.getMax());
+        return percentiles;
+    }
+
+    private static String json(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            List<String> members = new ArrayList<>();
+            for (Map.Entry<?, ?> entry : map.entrySet())
+                members.add(quote(String.valueOf(entry.getKey())) + ": " + json(entry.getValue()));
+            return "{" + String.join(", ", members) + "}";
+        }
+        if (value instanceof List<?> list) {
+            List<String> elements = new ArrayList<>();
+            for (Object element : list)
+                elements.add(json(element));
+            return "[" + String.join(", ", elements) + "]";
+        }
+        if (value instanceof Double number)
+            return number.isNaN() || number.isInfinite() ? "null" : number.toString();
+        if (value instanceof Number || value instanceof Boolean)
+            return value.toString();
+        return value == null ? "null" : quote(value.toString());
+    }
+
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\')
+                quoted.append('\\').append(c);
+            else if (c < ' ')
+                quoted.append(String.format("\\u%04x", (int) c));
+            else
+                quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Writes the report as CSV. The set up of the run and the JVM are written
+     * as comment lines starting with <code>#</code> before the header.
+     *
+     * @param file
+     * @throws IOException if the file can not be written
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            for (Map.Entry<String, Object> entry : run.entrySet())
+                out.printf("# %s=%s%n", entry.getKey(), entry.getValue());
+            for (Map.Entry<String, Object> entry : jvm().entrySet())
+                out.printf("# jvm.%s=%s%n", entry.getKey(), entry.getValue());
+            out.println(CSV_HEADER);
+            for (AIStatistics stats : results) {
+                String strategy = String.format("%s,%d,%d,%s,%d", stats.getStrategyName().replace(',', ';'),
+                        stats.getNumGames(), stats.getFailures(), stats.getAverage(), stats.getMaxGuesses());
+                LogHistogram all = stats.getAllLatencies();
+                out.printf("%s,%s,%d,%s,,,%n", strategy, ALL_TURNS, all.getCount(), csvPercentiles(all));
+                for (int turn = 1; turn <= stats.getTurns(); turn++) {
+                    LogHistogram latencies = stats.getLatencies(turn);
+                    LogHistogram allocations = stats.getAllocations(turn);
+                    out.printf("%s,%d,%d,%s,%s%n", strategy, turn, latencies.getCount(), csvPercentiles(latencies),
+                            allocations.getCount() > 0 ? csvPercentiles(allocations) : ",,");
+                }
+            }
+        }
+    }
+
+    private static String csvPercentiles(LogHistogram histogram) {
+        return histogram.percentile(0.5) + "," + histogram.percentile(0.99) + "," + histogram.getMax();
+    }
+
+    /**
+     * Compares the results of this report to a baseline written by
+     * {@link #writeCsv(Path)}, and prints a line for each strategy found in both.
+     * A strategy regresses if it fails more games than in the baseline, if its
+     * average number of guesses grew by more than <code>guessThreshold</code>,
+     * or if the median time of its guesses grew by more than
+     * <code>latencyThreshold</code>. The thresholds are fractions, for example
+     * 0.05 for 5%.
+     * <br>
+     * </br>
+     * The games and guesses of strategies that are not deterministic, see
+     * {@link AIStatistics#isDeterministic()}, change from run to run, so only
+     * the time of their guesses is compared.
+     *
+     * @param baseline         the CSV file of the baseline
+     * @param guessThreshold   allowed growth of the average number of guesses
+     * @param latencyThreshold allowed growth of the median time of a guess
+     * @return the number of strategies that regressed
+     * @throws IOException              if the baseline can not be read
+     * @throws IllegalArgumentException if the baseline is not a performance
+     *                                  report, or its seed, number of games or
+     *                                  threads differ from this run
+     */
+    public int compare(Path baseline, double guessThreshold, double latencyThreshold) throws IOException {
+        // Columns of the summary row of each strategy in the baseline
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        Map<String, String> baselineRun = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(baseline)) {
+            if (line.startsWith("#")) {
+                int equals = line.indexOf('=');
+                if (equals > 0)
+                    baselineRun.put(line.substring(1, equals).trim(), line.substring(equals + 1).trim());
+                continue;
+            }
+            if (line.isBlank() || line.equals(CSV_HEADER))
+                continue;
+            String[] columns = line.split(",", -1);
+            if (columns.length != CSV_HEADER.split(",").length)
+                throw new IllegalArgumentException("Not a row of a performance report: " + line);
+            if (columns[5].equals(ALL_TURNS))
+                rows.put(columns[0], columns);
+        }
+        for (String key : RUN_SETUP) {
+            String expected = String.valueOf(run.get(key));
+            if (!expected.equals(baselineRun.get(key)))
+                throw new IllegalArgumentException(String.format(
+                        "The baseline was run with %s=%s, but this run has %s=%s", key, baselineRun.get(key), key,
+                        expected));
+        }
+
+        int regressions = 0;
+        for (AIStatistics stats : results) {
+            String[] row = rows.get(stats.getStrategyName().replace(',', ';'));
+            if (row == null) {
+                System.out.printf("%-25s not in the baseline%n", stats.getStrategyName() + ":");
+                continue;
+            }
+            int failures = Integer.parseInt(row[2]);
+            double average = Double.parseDouble(row[3]);
+            long medianNanos = Long.parseLong(row[7]);
+            long currentMedianNanos = stats.getAllLatencies().percentile(0.5);
+
+            List<String> problems = new ArrayList<>();
+            if (stats.isDeterministic() && stats.getFailures() > failures)
+                problems.add(String.format("%d failures instead of %d", stats.getFailures(), failures));
+            if (stats.isDeterministic() && stats.getAverage() > average * (1 + guessThreshold))
+                problems.add(String.format("average %.3f guesses instead of %.3f", stats.getAverage(), average));
+            if (currentMedianNanos > medianNanos * (1 + latencyThreshold))
+                problems.add(String.format("median guess time %d ns instead of %d ns", currentMedianNanos,
+                        medianNanos));
+            if (!problems.isEmpty())
+                regressions++;
+            System.out.printf("%-25s %s%n", stats.getStrategyName() + ":",
+                    problems.isEmpty() ? String.format("ok (average %.3f, was %.3f%s; median guess time %d ns, was %d ns)",
+                            stats.getAverage(), average, stats.isDeterministic() ? "" : ", not compared",
+                            currentMedianNanos, medianNanos)
+                            : "REGRESSED: " + String.join(", ", problems));
+        }
+        return regressions;
+    }
+}
@@ -3,9 +3,6 @@ package org.example.wordle.controller.AI;
 import org.example.wordle.model.WordleDictionary;
 import org.example.wordle.model.word.WordleWord;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -15,7 +12,12 @@ import java.util.Random;
 public class RandomStrategy implements IStrategy {
 
     private WordleDictionary wordleDictionary;
-    private List<String> POSSIBLE_WORDS;
+    /**
+     * IDs of the words that have not been guessed yet, in the first
+     * <code>remainingWords</code> entries.
+     */
+    private int[] POSSIBLE_WORDS;
+    private int remainingWords;
     private Random random;
 
     public RandomStrategy(WordleDictionary wordleDictionary) {
@@ -43,17 +45,21 @@ public class RandomStrategy implements IStrategy {
      * @return the removed word
      */
     private String removeWord() {
-        int n = POSSIBLE_WORDS.size();
-        int randomIndex = random.nextInt(n);
-        int lastIndex = n - 1;
+        int randomIndex = random.nextInt(remainingWords);
+        int lastIndex = --remainingWords;
 
-        Collections.swap(POSSIBLE_WORDS, randomIndex, lastIndex);
-        return POSSIBLE_WORDS.remove(lastIndex);
+        int wordId = POSSIBLE_WORDS[randomIndex];
+        POSSIBLE_WORDS[randomIndex] = POSSIBLE_WORDS[lastIndex];
+        POSSIBLE_WORDS[lastIndex] = wordId;
+        return wordleDictionary.getWord(wordId);
     }
 
     @Override
     public void reset() {
-        POSSIBLE_WORDS = new ArrayList<>(wordleDictionary.getGuessWordsList());
+        remainingWords = wordleDictionary.guessCount();
+        POSSIBLE_WORDS = new int[remainingWords];
+        for (int i = 0; i < remainingWords; i++)
+            POSSIBLE_WORDS[i] = i;
         random = new Random();
     }
 
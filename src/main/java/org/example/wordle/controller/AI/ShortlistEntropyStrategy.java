@@ -0,0 +1,161 @@
+package org.example.wordle.controller.AI;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.EntropyEngine;
+import org.example.wordle.model.solver.ShortlistSelector;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+
+/**
+ * This strategy plays like {@link FullEntropyStrategy}, but only computes the
+ * exact entropy of a shortlist of guesses with the best letter coverage of the
+ * possible answers, see {@link ShortlistSelector}.
+ * <br>
+ * </br>
+ * With the quality report on, every move is also compared to the guess the
+ * exhaustive search would make, which shows how much the shortlist costs.
+ */
+public class ShortlistEntropyStrategy implements IStrategy {
+
+    /**
+     * The default number of guesses whose exact entropy is computed.
+     */
+    public static final int DEFAULT_SHORTLIST_SIZE = 100;
+
+    private WordleDictionary wordleDictionary;
+    private WordleWordList guesses;
+    private final ShortlistSelector selector;
+    private final boolean qualityReport;
+
+    /**
+     * The first guess is the same in every game, so it is only searched for once.
+     */
+    private int firstGuess = -1;
+
+    /**
+     * The numbers reported by the quality report. Copies report into the same
+     * report as the original.
+     */
+    private final QualityReport report;
+
+    private static class QualityReport {
+        private int moves = 0;
+        private int differentMoves = 0;
+        private int worseMoves = 0;
+        private double entropyLost = 0;
+    }
+
+    /**
+     * Constructs a ShortlistEntropyStrategy with the default shortlist size.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     */
+    public ShortlistEntropyStrategy(WordleDictionary wordleDictionary) {
+        this(wordleDictionary, DEFAULT_SHORTLIST_SIZE, false);
+    }
+
+    /**
+     * Constructs a ShortlistEntropyStrategy.
+     *
+     * @param wordleDictionary The dictionary to use for word guesses.
+     * @param shortlistSize    The number of guesses whose exact entropy is
+     *                         computed.
+     * @param qualityReport    If true, every move is compared to the exhaustive
+     *                         search.
+     */
+    public ShortlistEntropyStrategy(WordleDictionary wordleDictionary, int shortlistSize, boolean qualityReport) {
+        this.wordleDictionary = wordleDictionary;
+        this.selector = new ShortlistSelector(wordleDictionary, shortlistSize);
+        this.qualityReport = qualityReport;
+        this.report = new QualityReport();
+        reset();
+    }
+
+    private ShortlistEntropyStrategy(ShortlistEntropyStrategy other) {
+        this.wordleDictionary = other.wordleDictionary;
+        this.guesses = other.guesses.copy();
+        this.selector = other.selector;
+        this.qualityReport = other.qualityReport;
+        this.report = other.report;
+        this.firstGuess = other.firstGuess;
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null) {
+            if (firstGuess < 0)
+                firstGuess = guesses.bestGuessIdFromShortlist(selector);
+            return wordleDictionary.getWord(firstGuess);
+        }
+        guesses.eliminateWords(feedback);
+        int guess = guesses.bestGuessIdFromShortlist(selector);
+        if (guess < 0)
+            throw new IllegalStateException("No answer fits the feedback");
+        if (qualityReport)
+            compareToExhaustive(guess);
+        return wordleDictionary.getWord(guess);
+    }
+
+    private void compareToExhaustive(int guess) {
+        report.moves++;
+        int exhaustive = guesses.bestGuessIdFromAllWords();
+        if (exhaustive != guess) {
+            report.differentMoves++;
+            double lost = guesses.calculateEntropy(exhaustive) - guesses.calculateEntropy(guess);
+            if (lost > EntropyEngine.TIE_EPSILON) {
+                report.worseMoves++;
+                report.entropyLost += lost;
+            }
+        }
+    }
+
+    /**
+     * @return the number of guesses after the first compared to the exhaustive
+     *         search
+     */
+    public int getMoves() {
+        return report.moves;
+    }
+
+    /**
+     * @return the number of compared guesses where the shortlist picked another
+     *         guess than the exhaustive search
+     */
+    public int getDifferentMoves() {
+        return report.differentMoves;
+    }
+
+    /**
+     * @return the number of compared guesses where the shortlist picked a guess
+     *         with lower entropy than the exhaustive search, and not just another
+     *         guess of equal entropy
+     */
+    public int getWorseMoves() {
+        return report.worseMoves;
+    }
+
+    /**
+     * @return the entropy in bits lost over all compared guesses, compared to the
+     *         exhaustive search
+     */
+    public double getEntropyLost() {
+        return report.entropyLost;
+    }
+
+    /**
+     * @return the number of guesses whose exact entropy is computed
+     */
+    public int getShortlistSize() {
+        return selector.shortlistSize();
+    }
+
+    @Override
+    public void reset() {
+        guesses = new WordleWordList(wordleDictionary);
+    }
+
+    @Override
+    public IStrategy copy() {
+        return new ShortlistEntropyStrategy(this);
+    }
+}
@@ -1,17 +1,36 @@
 package org.example.wordle.model;
 
+import org.example.wordle.model.solver.EntropyEngine;
+import org.example.wordle.model.solver.SolverExecutor;
+import org.example.wordle.model.word.LetterPostings;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordFeatures;
 import org.example.wordle.resources.LoadFromFile5LetterEnglish;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.zip.CRC32;
 
 /**
  * The dictionary class keeps track of the words used in the current game of
- * Wordle. This class is implemented to allow for any word length and any
- * language.
+ * Wordle. This class is implemented to allow for any word length, but the
+ * words can only contain the lower case letters a-z, since the letters of every
+ * word are stored as indexes into the alphabet for the solvers.
  * The default constructor loads the word lists for 5 letter words in english.
+ * <br>
+ * </br>
+ * Every word has a dense integer ID. The guess words get the IDs
+ * <code>0..guessCount-1</code> in list order, and any answer word that is not
+ * also a guess word is given an ID after those. Every answer word also has an
+ * answer ID, which is its index in the answer list. Solvers work with these IDs
+ * and only turn them back into strings when a guess is made.
  */
 public class WordleDictionary {
 
@@ -23,11 +42,68 @@ public class WordleDictionary {
 
     public final int WORD_LENGTH;
 
+    /**
+     * All words, indexed by word ID.
+     */
+    private final String[] words;
+    private final Map<String, Integer> wordIds;
+    /**
+     * The word ID of each answer, indexed by answer ID.
+     */
+    private final int[] answerWordIds;
+    /**
+     * The answer ID of each word, or -1 for words that are not answers.
+     */
+    private final int[] answerIds;
+    /**
+     * Letter indices (0 for 'a' to 25 for 'z'), WORD_LENGTH entries per word ID.
+     */
+    private final byte[] letters;
+
+    private final WordFeatures features;
+
+    private final String checksum;
+
+    private final SolverExecutor solverExecutor;
+
+    private volatile PatternTable patternTable;
+
+    private volatile LetterPostings answerPostings;
+
+    private volatile LetterPostings guessPostings;
+
+    private volatile EntropyEngine entropyEngine;
+
     public WordleDictionary() {
         this(LoadFromFile5LetterEnglish.GUESS_WORDS_LIST, LoadFromFile5LetterEnglish.ANSWER_WORDS_LIST);
     }
 
+    /**
+     * Creates the dictionary of 5 letter english words, with the solvers running
+     * on the given executor.
+     * 
+     * @param solverExecutor
+     */
+    public WordleDictionary(SolverExecutor solverExecutor) {
+        this(LoadFromFile5LetterEnglish.GUESS_WORDS_LIST, LoadFromFile5LetterEnglish.ANSWER_WORDS_LIST,
+                solverExecutor);
+    }
+
     public WordleDictionary(List<String> guessWords, List<String> answerWords) {
+        this(guessWords, answerWords, SolverExecutor.getDefault());
+    }
+
+    /**
+     * Creates a dictionary of the given words. Every solver working with the
+     * dictionary runs its parallel work on <code>solverExecutor</code>.
+     * 
+     * @param guessWords
+     * @param answerWords
+     * @param solverExecutor
+     * @throws IllegalArgumentException if a word is not made of the letters a-z
+     */
+    public WordleDictionary(List<String> guessWords, List<String> answerWords, SolverExecutor solverExecutor) {
+        this.solverExecutor = solverExecutor;
         this.guessWordsList = guessWords;
         this.answerWordsList = answerWords;
 
@@ -38,6 +114,49 @@ public class WordleDictionary {
         this.WORD_LENGTH = guessWordsList.get(0).length();
         checkWordLength(guessWordsList);
         checkWordLength(answerWordsList);
+
+        List<String> allWords = new ArrayList<>(guessWordsList);
+        for (String word : answerWordsList) {
+            if (!guessWordsSet.contains(word))
+                allWords.add(word);
+        }
+        this.words = allWords.toArray(new String[0]);
+        this.wordIds = new HashMap<>();
+        for (int id = 0; id < words.length; id++)
+            wordIds.putIfAbsent(words[id], id);
+
+        this.answerWordIds = new int[answerWordsList.size()];
+        this.answerIds = new int[words.length];
+        Arrays.fill(answerIds, -1);
+        for (int answerId = 0; answerId < answerWordIds.length; answerId++) {
+            int wordId = wordIds.get(answerWordsList.get(answerId));
+            answerWordIds[answerId] = wordId;
+            if (answerIds[wordId] < 0)
+                answerIds[wordId] = answerId;
+        }
+
+        this.letters = new byte[words.length * WORD_LENGTH];
+        for (int id = 0; id < words.length; id++) {
+            for (int p = 0; p < WORD_LENGTH; p++) {
+                int letter = words[id].charAt(p) - 'a';
+                if (letter < 0 || letter >= 26)
+                    throw new IllegalArgumentException("Words in dictionary can only contain the letters a-z");
+                letters[id * WORD_LENGTH + p] = (byte) letter;
+            }
+        }
+
+        this.features = new WordFeatures(letters, WORD_LENGTH);
+        this.checksum = computeChecksum();
+    }
+
+    private String computeChecksum() {
+        CRC32 crc = new CRC32();
+        for (String word : guessWordsList)
+            crc.update((word + "\n").getBytes(StandardCharsets.UTF_8));
+        crc.update('#');
+        for (String word : answerWordsList)
+            crc.update((word + "\n").getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
     }
 
     private void checkWordLength(List<String> words) {
@@ -75,4 +194,202 @@ public class WordleDictionary {
         return answerWordsSet.contains(wordGuess.toLowerCase());
     }
 
+    /**
+     * Gets the number of words with an ID, that is all guess words and any
+     * answer words that are not guess words.
+     * 
+     * @return number of word IDs
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * @return the number of guess words. These have the IDs 0 to guessCount-1.
+     */
+    public int guessCount() {
+        return guessWordsList.size();
+    }
+
+    /**
+     * @return the number of answer words. These have the answer IDs 0 to
+     *         answerCount-1.
+     */
+    public int answerCount() {
+        return answerWordIds.length;
+    }
+
+    /**
+     * Gets the ID of the given word.
+     * 
+     * @param word
+     * @return the word ID, or -1 if the word is not in the dictionary
+     */
+    public int getWordId(String word) {
+        return wordIds.getOrDefault(word, -1);
+    }
+
+    /**
+     * Gets the word with the given ID.
+     * 
+     * @param wordId
+     * @return the word
+     */
+    public String getWord(int wordId) {
+        return words[wordId];
+    }
+
+    /**
+     * Gets the word ID of the answer with the given answer ID.
+     * 
+     * @param answerId
+     * @return the word ID
+     */
+    public int getAnswerWordId(int answerId) {
+        return answerWordIds[answerId];
+    }
+
+    /**
+     * Gets the answer ID of the word with the given word ID.
+     * 
+     * @param wordId
+     * @return the answer ID, or -1 if the word is not an answer
+     */
+    public int getAnswerId(int wordId) {
+        return answerIds[wordId];
+    }
+
+    /**
+     * Gets the answer with the given answer ID.
+     * 
+     * @param answerId
+     * @return the answer word
+     */
+    public String getAnswer(int answerId) {
+        return words[answerWordIds[answerId]];
+    }
+
+    /**
+     * Gets the letter of the given word at the given position as a number from 0
+     * ('a') to 25 ('z').
+     * 
+     * @param wordId
+     * @param position
+     * @return the letter index
+     */
+    public int letterAt(int wordId, int position) {
+        return letters[wordId * WORD_LENGTH + position];
+    }
+
+    /**
+     * Gets the letter masks, duplicate flags and letter counts of all words,
+     * indexed by word ID.
+     * 
+     * @return the word features of this dictionary
+     */
+    public WordFeatures getWordFeatures() {
+        return features;
+    }
+
+    /**
+     * Gets the executor that solvers working with this dictionary run their
+     * parallel work on.
+     * 
+     * @return the solver executor
+     */
+    public SolverExecutor getSolverExecutor() {
+        return solverExecutor;
+    }
+
+    /**
+     * Gets a checksum of the guess and answer words. Files computed from this
+     * dictionary are stored under this checksum, so that they are not reused
+     * after the word lists change.
+     * 
+     * @return the checksum as a hex string
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Gets the table of feedback patterns between all guess words and all answer
+     * words. The table is loaded (or built) the first time this method is called.
+     * 
+     * @return the pattern table of this dictionary
+     */
+    public PatternTable getPatternTable() {
+        PatternTable table = patternTable;
+        if (table == null) {
+            synchronized (this) {
+                table = patternTable;
+                if (table == null) {
+                    table = PatternTable.load(this);
+                    patternTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Gets the letter postings of the answer words, indexed by answer ID. They are
+     * built the first time this method is called.
+     * 
+     * @return the answer postings
+     */
+    public LetterPostings getAnswerPostings() {
+        LetterPostings postings = answerPostings;
+        if (postings == null) {
+            synchronized (this) {
+                postings = answerPostings;
+                if (postings == null) {
+                    postings = LetterPostings.forAnswers(this);
+                    answerPostings = postings;
+                }
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Gets the letter postings of the guess words, indexed by word ID. They are
+     * built the first time this method is called.
+     * 
+     * @return the guess postings
+     */
+    public LetterPostings getGuessPostings() {
+        LetterPostings postings = guessPostings;
+        if (postings == null) {
+            synchronized (this) {
+                postings = guessPostings;
+                if (postings == null) {
+                    postings = LetterPostings.forGuesses(this);
+                    guessPostings = postings;
+                }
+            }
+        }
+        return postings;
+    }
+
+    /**
+     * Gets the entropy engine of this dictionary. It is created the first time
+     * this method is called.
+     * 
+     * @return the entropy engine
+     */
+    public EntropyEngine getEntropyEngine() {
+        EntropyEngine engine = entropyEngine;
+        if (engine == null) {
+            synchronized (this) {
+                engine = entropyEngine;
+                if (engine == null) {
+                    engine = new EntropyEngine(this);
+                    entropyEngine = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
 }
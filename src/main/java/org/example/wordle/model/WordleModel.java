@@ -34,6 +34,11 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
 
     private GameState gameState;
 
+    /**
+     * If true, every guess must use the hints given by earlier guesses.
+     */
+    private boolean hardMode;
+
     public WordleModel(WordleBoard board) {
         this(board, new WordleDictionary());
     }
@@ -122,9 +127,29 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
             return;
     }
 
+    /**
+     * Turns hard mode on or off. If a guess has already been made in the current
+     * game, the change applies from the next game.
+     * 
+     * @param hardMode
+     */
+    public void setHardMode(boolean hardMode) {
+        this.hardMode = hardMode;
+        if (board.getCurrentRow() == 0)
+            answer.setHardMode(hardMode);
+    }
+
+    /**
+     * @return true if every guess must use the hints given by earlier guesses
+     */
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
     @Override
     public void reset() {
         this.answer = new WordleAnswer(wordleDictionary);
+        this.answer.setHardMode(hardMode);
         this.currentGuess = "";
         this.board = new WordleBoard(this.board.rows(), this.board.cols());
 
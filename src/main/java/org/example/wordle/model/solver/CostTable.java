@@ -0,0 +1,82 @@
+package org.example.wordle.model.solver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size cache of the cost of solving sets of possible answers, keyed
+ * like {@link TranspositionTable} by the fingerprint of the set and its size.
+ * <br>
+ * </br>
+ * The table is split into buckets of two entries, where the first entry keeps
+ * the largest set stored in it and the second takes the newest set. Each entry
+ * is three longs: the key XOR the two data words, the bits of the cost, and
+ * the size of the set. An entry is only used if the three agree, so an entry
+ * written by two threads at once is seen as missing rather than wrong.
+ */
+public class CostTable {
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+
+    /**
+     * Creates a table with room for at least <code>capacity</code> entries.
+     *
+     * @param capacity
+     */
+    public CostTable(int capacity) {
+        if (capacity < 2)
+            throw new IllegalArgumentException("Capacity must be at least 2, but was " + capacity);
+        int buckets = Integer.highestOneBit(capacity - 1);
+        this.bucketMask = buckets - 1;
+        this.entries = new AtomicLongArray(buckets * 6);
+    }
+
+    /**
+     * Looks up the cost of a set of possible answers.
+     *
+     * @param fingerprint fingerprint of the set
+     * @param size        number of possible answers in the set
+     * @return the stored cost, or NaN if the set is not in the table
+     */
+    public double get(long fingerprint, int size) {
+        int bucket = bucket(fingerprint);
+        for (int slot = bucket; slot < bucket + 6; slot += 3) {
+            long cost = entries.get(slot + 1);
+            long storedSize = entries.get(slot + 2);
+            if (storedSize == size && (entries.get(slot) ^ cost ^ storedSize) == fingerprint)
+                return Double.longBitsToDouble(cost);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Stores the cost of a set of possible answers.
+     *
+     * @param fingerprint fingerprint of the set
+     * @param size        number of possible answers in the set, at least 1
+     * @param cost        the cost of the set
+     */
+    public void put(long fingerprint, int size, double cost) {
+        int bucket = bucket(fingerprint);
+        int slot = bucket;
+        long keptSize = entries.get(bucket + 2);
+        if (keptSize != 0 && size < keptSize
+                && (entries.get(bucket) ^ entries.get(bucket + 1) ^ keptSize) != fingerprint)
+            slot = bucket + 3;
+        long bits = Double.doubleToRawLongBits(cost);
+        entries.set(slot, fingerprint ^ bits ^ size);
+        entries.set(slot + 1, bits);
+        entries.set(slot + 2, size);
+    }
+
+    private int bucket(long fingerprint) {
+        return ((int) (fingerprint ^ (fingerprint >>> 32)) & bucketMask) * 6;
+    }
+
+    /**
+     * @return the number of entries the table can hold
+     */
+    public int capacity() {
+        return entries.length() / 3;
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.wordle.model.solver;
+
+import org.example.util.CacheFiles;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordleAnswer;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A complete plan for solving every answer of a dictionary under a
+ * {@link GuessPolicy}: each node holds the guess to make, and one child for
+ * each feedback code that leaves answers to be found.
+ * <br>
+ * </br>
+ * The tree is stored as one array of ints. A node at offset <code>n</code> is
+ * laid out as
+ * <code>guess, childCount, code_0, child_0, ..., code_k, child_k</code> with
+ * the codes in increasing order and each child given by its offset. The
+ * winning code never has a child. The root is at offset 0. The array is saved
+ * to a cache file named after the dictionary checksum and the policy, and
+ * later runs memory map that file and read it in place.
+ */
+public class DecisionTree {
+
+    private static final int MAGIC = 0x57545245;
+    /**
+     * Version of the tree layout and the policies. Change it whenever either
+     * changes, so that trees in old cache files are not used.
+     */
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 3;
+
+    private final IntBuffer nodes;
+
+    private DecisionTree(IntBuffer nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * Loads the decision tree of the given policy from the cache, or compiles it
+     * and saves it if no cached tree exists.
+     *
+     * @param dictionary
+     * @param policy
+     * @return the decision tree
+     */
+    public static DecisionTree load(WordleDictionary dictionary, GuessPolicy policy) {
+        Path file = CacheFiles.cacheFile("tree-" + dictionary.getChecksum() + "-"
+                + policy.name().toLowerCase() + "-v" + VERSION + ".bin");
+        MappedByteBuffer mapped = CacheFiles.map(file);
+        if (mapped != null && isValid(mapped))
+            return new DecisionTree(mapped.slice(4 * HEADER_INTS, mapped.capacity() - 4 * HEADER_INTS).asIntBuffer());
+
+        int[] nodes = compile(dictionary, policy);
+        ByteBuffer header = ByteBuffer.allocate(4 * HEADER_INTS).putInt(MAGIC).putInt(VERSION)
+                .putInt(nodes.length).flip();
+        ByteBuffer body = ByteBuffer.allocate(4 * nodes.length);
+        body.asIntBuffer().put(nodes);
+        CacheFiles.write(file, header, body);
+        return new DecisionTree(IntBuffer.wrap(nodes));
+    }
+
+    private static boolean isValid(ByteBuffer file) {
+        return file.capacity() >= 4 * HEADER_INTS
+                && file.getInt(0) == MAGIC
+                && file.getInt(4) == VERSION
+                && file.capacity() == 4 * (HEADER_INTS + (long) file.getInt(8));
+    }
+
+    /**
+     * Builds the tree of the given policy over all answers of the dictionary. The
+     * subtrees of a node are built in parallel.
+     *
+     * @param dictionary
+     * @param policy
+     * @return the tree in the array layout described in {@link DecisionTree}
+     */
+    static int[] compile(WordleDictionary dictionary, GuessPolicy policy) {
+        int[] answers = new int[dictionary.answerCount()];
+        for (int i = 0; i < answers.length; i++)
+            answers[i] = i;
+        Node root = dictionary.getSolverExecutor().invoke(new NodeTask(dictionary, policy, answers));
+        int[] nodes = new int[root.size()];
+        root.write(nodes, 0);
+        return nodes;
+    }
+
+    /**
+     * A node of the tree while it is being built.
+     */
+    private static class Node {
+
+        private final int guess;
+        private final int[] codes;
+        private final Node[] children;
+
+        private Node(int guess, int[] codes, Node[] children) {
+            this.guess = guess;
+            this.codes = codes;
+            this.children = children;
+        }
+
+        private int size() {
+            int size = 2 + 2 * children.length;
+            for (Node child : children)
+                size += child.size();
+            return size;
+        }
+
+        /**
+         * Writes this subtree at the given offset.
+         *
+         * @return the offset after the subtree
+         */
+        private int write(int[] nodes, int offset) {
+            nodes[offset] = guess;
+            nodes[offset + 1] = children.length;
+            int next = offset + 2 + 2 * children.length;
+            for (int i = 0; i < children.length; i++) {
+                nodes[offset + 2 + 2 * i] = codes[i];
+                nodes[offset + 3 + 2 * i] = next;
+                next = children[i].write(nodes, next);
+            }
+            return next;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class NodeTask extends RecursiveTask<Node> {
+
+        private final WordleDictionary dictionary;
+        private final GuessPolicy policy;
+        private final int[] candidates;
+
+        private NodeTask(WordleDictionary dictionary, GuessPolicy policy, int[] candidates) {
+            this.dictionary = dictionary;
+            this.policy = policy;
+            this.candidates = candidates;
+        }
+
+        @Override
+        protected Node compute() {
+            int guess = candidates.length == 1 ? dictionary.getAnswerWordId(candidates[0])
+                    : policy.chooseGuess(dictionary, candidates);
+            List<int[]> partitions = partition(guess);
+            if (partitions.size() == 1 && partitions.get(0).length == candidates.length + 1) {
+                // The guess does not split the candidates, so guess one of them instead
+                guess = dictionary.getAnswerWordId(candidates[0]);
+                partitions = partition(guess);
+            }
+
+            int[] codes = new int[partitions.size()];
+            List<NodeTask> tasks = new ArrayList<>(partitions.size());
+            for (int i = 0; i < codes.length; i++) {
+                int[] partition = partitions.get(i);
+                codes[i] = partition[0];
+                tasks.add(new NodeTask(dictionary, policy, Arrays.copyOfRange(partition, 1, partition.length)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            Node[] children = new Node[codes.length];
+            for (int i = 0; i < children.length; i++)
+                children[i] = tasks.get(i).join();
+            return new Node(guess, codes, children);
+        }
+
+        private List<int[]> partition(int guess) {
+            return Partitions.split(dictionary.getPatternTable(), WordleAnswer.patternCount(dictionary.WORD_LENGTH),
+                    WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH), guess, candidates);
+        }
+    }
+
+    /**
+     * @return the offset of the root node
+     */
+    public int root() {
+        return 0;
+    }
+
+    /**
+     * @param node offset of a node
+     * @return word ID of the guess to make at the node
+     */
+    public int guess(int node) {
+        return nodes.get(node);
+    }
+
+    /**
+     * Follows the feedback on the guess of a node.
+     *
+     * @param node offset of a node
+     * @param code the feedback code on the guess of the node
+     * @return offset of the child node, or -1 if no answer in the dictionary gives
+     *         this feedback
+     */
+    public int child(int node, int code) {
+        int low = 0;
+        int high = nodes.get(node + 1) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midCode = nodes.get(node + 2 + 2 * mid);
+            if (midCode < code)
+                low = mid + 1;
+            else if (midCode > code)
+                high = mid - 1;
+            else
+                return nodes.get(node + 3 + 2 * mid);
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of ints in the tree
+     */
+    public int size() {
+        return nodes.capacity();
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds the guess with the lowest expected number of guesses exactly, for at
+ * most {@link #MAX_CANDIDATES} possible answers.
+ * <br>
+ * </br>
+ * The guesses considered are the possible answers and the given number of
+ * other guess words with the highest entropy. The result is optimal among
+ * these guesses, at every later move as well; a guess outside this pool
+ * could in rare cases do better.
+ * <br>
+ * </br>
+ * Sets of possible answers are bitmasks over the index of each answer in the
+ * candidate array. The search is a depth first branch and bound over the total
+ * number of guesses needed for all answers of a set, memoized per set. A set
+ * of <code>s</code> answers needs at least <code>2s - 1</code> guesses in
+ * total, since at most one answer can be found with one guess, so the guesses
+ * are tried in order of this bound over their parts, and the search of a set
+ * stops when a guess reaches the bound of the set.
+ */
+public class EndgameSolver {
+
+    /**
+     * The largest number of possible answers the solver accepts.
+     */
+    public static final int MAX_CANDIDATES = 64;
+
+    private final WordleDictionary dictionary;
+    private final PatternTable patterns;
+    private final int patternCount;
+    private final int winningCode;
+    private final int outsiders;
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder states = new LongAdder();
+
+    /**
+     * Creates a solver for the given dictionary.
+     *
+     * @param dictionary
+     * @param outsiders number of guess words that are not possible answers to
+     *                  consider as guesses
+     */
+    public EndgameSolver(WordleDictionary dictionary, int outsiders) {
+        this.dictionary = dictionary;
+        this.patterns = dictionary.getPatternTable();
+        this.patternCount = WordleAnswer.patternCount(dictionary.WORD_LENGTH);
+        this.winningCode = WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH);
+        this.outsiders = outsiders;
+    }
+
+    /**
+     * Finds the guess with the lowest expected number of guesses. Of guesses that
+     * are equally good, the possible answers are preferred, in the given order.
+     *
+     * @param candidates answer IDs of the possible answers, at most
+     *                   {@link #MAX_CANDIDATES}
+     * @return word ID of the best guess, or -1 if there are no possible answers
+     */
+    public int bestGuess(int[] candidates) {
+        if (candidates.length == 0)
+            return -1;
+        Search search = new Search(candidates);
+        search.total(search.all(), true);
+        return search.pool[search.bestGuess];
+    }
+
+    /**
+     * Calculates the lowest expected number of guesses needed to find the answer,
+     * with the first guess made now.
+     *
+     * @param candidates answer IDs of the possible answers, at most
+     *                   {@link #MAX_CANDIDATES}
+     * @return the expected number of guesses, or 0 if there are no possible
+     *         answers
+     */
+    public double expectedGuesses(int[] candidates) {
+        if (candidates.length == 0)
+            return 0;
+        Search search = new Search(candidates);
+        return (double) search.total(search.all(), false) / candidates.length;
+    }
+
+    /**
+     * The state of one solve: the guess pool, the code of each guess against
+     * each candidate, and the totals found so far.
+     */
+    private class Search {
+
+        private final int n;
+        private final int[] pool;
+        private final int[][] codes;
+        private final Map<Long, Integer> memo = new HashMap<>();
+        private int bestGuess = Integer.MAX_VALUE;
+
+        private Search(int[] candidates) {
+            if (candidates.length > MAX_CANDIDATES)
+                throw new IllegalArgumentException("The endgame solver takes at most " + MAX_CANDIDATES
+                        + " possible answers, but got " + candidates.length);
+            solves.increment();
+            this.n = candidates.length;
+            this.pool = pool(candidates);
+            this.codes = new int[pool.length][n];
+            for (int g = 0; g < pool.length; g++) {
+                for (int i = 0; i < n; i++)
+                    codes[g][i] = patterns.getPattern(pool[g], candidates[i]);
+            }
+        }
+
+        private long all() {
+            return n == 64 ? -1L : (1L << n) - 1;
+        }
+
+        /**
+         * Finds the lowest total number of guesses to find every answer in
+         * <code>mask</code>, counting the guess made now. At the root the best
+         * guess is saved.
+         */
+        private int total(long mask, boolean root) {
+            int size = Long.bitCount(mask);
+            if (!root && size <= 2)
+                return 2 * size - 1;
+            if (!root) {
+                Integer known = memo.get(mask);
+                if (known != null)
+                    return known;
+            }
+            states.increment();
+
+            // Lower bound of each guess, from the sizes of its parts
+            long[] order = new long[pool.length];
+            int[] counts = new int[patternCount];
+            int guesses = 0;
+            for (int g = 0; g < pool.length; g++) {
+                int bound = size;
+                int largest = 0;
+                for (long rest = mask; rest != 0; rest &= rest - 1)
+                    counts[codes[g][Long.numberOfTrailingZeros(rest)]]++;
+                for (long rest = mask; rest != 0; rest &= rest - 1) {
+                    int code = codes[g][Long.numberOfTrailingZeros(rest)];
+                    int count = counts[code];
+                    if (count == 0)
+                        continue;
+                    counts[code] = 0;
+                    largest = Math.max(largest, count);
+                    if (code != winningCode)
+                        bound += 2 * count - 1;
+                }
+                // A guess that does not split the set never helps
+                if (largest == size && codes[g][Long.numberOfTrailingZeros(mask)] != winningCode)
+                    continue;
+                order[guesses++] = (long) bound << 32 | g;
+            }
+            Arrays.sort(order, 0, guesses);
+
+            int best = Integer.MAX_VALUE;
+            int setBound = 2 * size - 1;
+            long[] parts = new long[patternCount];
+            for (int k = 0; k < guesses && best > setBound; k++) {
+                int bound = (int) (order[k] >>> 32);
+                int g = (int) order[k];
+                // At the root an equal total from an earlier guess in the pool is also taken
+                if (bound > best || (bound == best && (!root || g > bestGuess)))
+                    break;
+
+                for (long rest = mask; rest != 0; rest &= rest - 1) {
+                    int i = Long.numberOfTrailingZeros(rest);
+                    parts[codes[g][i]] |= 1L << i;
+                }
+                int total = size;
+                for (int code = 0; code < patternCount && total <= best; code++) {
+                    long part = parts[code];
+                    if (part == 0 || code == winningCode)
+                        continue;
+                    total += total(part, false);
+                }
+                Arrays.fill(parts, 0);
+                if (total < best || (root && total == best && g < bestGuess)) {
+                    best = total;
+                    if (root)
+                        bestGuess = g;
+                }
+            }
+            if (!root)
+                memo.put(mask, best);
+            return best;
+        }
+
+        /**
+         * Lists the candidates as word IDs, followed by the other guess words with
+         * the highest entropy.
+         */
+        private int[] pool(int[] candidates) {
+            if (outsiders == 0)
+                return Arrays.stream(candidates).map(dictionary::getAnswerWordId).toArray();
+            boolean[] inSet = new boolean[dictionary.wordCount()];
+            for (int answerId : candidates)
+                inSet[dictionary.getAnswerWordId(answerId)] = true;
+            int[] others = new int[dictionary.guessCount()];
+            int count = 0;
+            for (int wordId = 0; wordId < dictionary.guessCount(); wordId++) {
+                if (!inSet[wordId])
+                    others[count++] = wordId;
+            }
+            others = Arrays.copyOf(others, count);
+            double[] entropies = dictionary.getEntropyEngine().entropies(others, candidates);
+            Integer[] byEntropy = new Integer[count];
+            for (int i = 0; i < count; i++)
+                byEntropy[i] = i;
+            Arrays.sort(byEntropy, (a, b) -> Double.compare(entropies[b], entropies[a]));
+
+            int[] pool = new int[candidates.length + Math.min(outsiders, count)];
+            for (int i = 0; i < candidates.length; i++)
+                pool[i] = dictionary.getAnswerWordId(candidates[i]);
+            for (int i = candidates.length; i < pool.length; i++)
+                pool[i] = others[byEntropy[i - candidates.length]];
+            return pool;
+        }
+    }
+
+    /**
+     * @return the number of times the solver has been run
+     */
+    public long solves() {
+        return solves.sum();
+    }
+
+    /**
+     * @return the number of sets searched over all solves, not counting sets
+     *         found in the memo
+     */
+    public long states() {
+        return states.sum();
+    }
+}
@@ -0,0 +1,280 @@
+package org.example.wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the entropy of guesses against a set of candidate answers using
+ * the {@link PatternTable} of a dictionary.
+ * <br>
+ * </br>
+ * Each thread counts feedback codes in its own reusable histogram, and the
+ * entropy is computed from a table of <code>n * log2(n)</code> values:
+ * <code>H = log2(N) - sum(n * log2(n)) / N</code> where <code>n</code> is the
+ * number of candidates giving each feedback code and <code>N</code> the number
+ * of candidates.
+ * <br>
+ * </br>
+ * Whether an evaluation runs sequentially, split across guesses or split across
+ * the candidates of each guess is decided by an {@link ExecutionCostModel}. It
+ * is calibrated by the first engine created on a {@link SolverExecutor}, and
+ * later engines on the same executor reuse the measured costs.
+ */
+public class EntropyEngine {
+
+    /**
+     * Entropies closer than this are treated as equal, so that rounding never
+     * decides between two guesses.
+     */
+    public static final double TIE_EPSILON = 1e-9;
+
+    private final WordleDictionary dictionary;
+    private final PatternTable patterns;
+    private final int patternCount;
+    private final double[] nLog2n;
+    private final ThreadLocal<int[]> histograms;
+    private final ExecutionCostModel costModel;
+
+    /**
+     * Creates an entropy engine for the given dictionary.
+     *
+     * @param dictionary
+     */
+    public EntropyEngine(WordleDictionary dictionary) {
+        this.dictionary = dictionary;
+        PatternTable patterns = dictionary.getPatternTable();
+        int patternCount = WordleAnswer.patternCount(dictionary.WORD_LENGTH);
+        double[] nLog2n = new double[dictionary.answerCount() + 1];
+        for (int n = 2; n < nLog2n.length; n++)
+            nLog2n[n] = n * Math.log(n) / Math.log(2);
+        ThreadLocal<int[]> histograms = ThreadLocal.withInitial(() -> new int[patternCount]);
+        this.patterns = patterns;
+        this.patternCount = patternCount;
+        this.nLog2n = nLog2n;
+        this.histograms = histograms;
+        ExecutionCostModel calibration = dictionary.getSolverExecutor()
+                .calibration(() -> calibrate(dictionary, patterns, histograms, nLog2n));
+        // Each engine counts its own calls
+        this.costModel = new ExecutionCostModel(calibration.nanosPerPattern(), calibration.parallelOverheadNanos(),
+                calibration.parallelism());
+    }
+
+    /**
+     * Times the entropy of a few guesses against all answers. This runs from the
+     * constructor, so it only uses the given tables and not the engine.
+     */
+    private static ExecutionCostModel calibrate(WordleDictionary dictionary, PatternTable patterns,
+            ThreadLocal<int[]> histograms, double[] nLog2n) {
+        final int guesses = 8;
+        int[] answers = IntStream.range(0, dictionary.answerCount()).toArray();
+        return ExecutionCostModel.calibrate((long) guesses * answers.length, round -> {
+            for (int g = 0; g < guesses; g++)
+                entropy(patterns, histograms.get(), nLog2n, (round * guesses + g) % dictionary.guessCount(), answers);
+        }, dictionary.getSolverExecutor());
+    }
+
+    /**
+     * Calculates the entropy of the feedback when guessing the given word, with
+     * the answer uniformly chosen from <code>candidates</code>. This always runs
+     * on the calling thread, so it can be used inside parallel loops.
+     *
+     * @param guessId    word ID of the guess
+     * @param candidates answer IDs of the possible answers
+     * @return the entropy in bits
+     */
+    public double entropy(int guessId, int[] candidates) {
+        return entropy(patterns, histograms.get(), nLog2n, guessId, candidates);
+    }
+
+    /**
+     * Calculates the entropy of a guess, counting codes in the given histogram,
+     * which must be all zero and is left all zero.
+     */
+    private static double entropy(PatternTable patterns, int[] histogram, double[] nLog2n, int guessId,
+            int[] candidates) {
+        int n = candidates.length;
+        if (n == 0)
+            return 0;
+        for (int answerId : candidates)
+            histogram[patterns.getPattern(guessId, answerId)]++;
+
+        // Sum n*log2(n) over the codes, clearing the histogram on the way
+        double sum = 0;
+        for (int answerId : candidates) {
+            int code = patterns.getPattern(guessId, answerId);
+            int count = histogram[code];
+            if (count != 0) {
+                sum += nLog2n[count];
+                histogram[code] = 0;
+            }
+        }
+        return (nLog2n[n] - sum) / n;
+    }
+
+    /**
+     * Calculates the entropy of each guess, run as the cost model chooses.
+     *
+     * @param guessIds   word IDs of the guesses
+     * @param candidates answer IDs of the possible answers
+     * @return the entropy of each guess
+     */
+    public double[] entropies(int[] guessIds, int[] candidates) {
+        double[] entropies = new double[guessIds.length];
+        evaluate(guessIds, 0, guessIds.length, candidates, i -> entropy(guessIds[i], candidates),
+                entropies, 0);
+        return entropies;
+    }
+
+    /**
+     * Computes <code>entropies[i - offset]</code> for the guesses
+     * <code>from..to-1</code>, in the mode the cost model chooses.
+     * <code>kernel</code> computes the entropy of one guess sequentially.
+     */
+    private void evaluate(int[] guessIds, int from, int to, int[] candidates, IntToDoubleFunction kernel,
+            double[] entropies, int offset) {
+        switch (costModel.choose(to - from, candidates.length)) {
+            case SEQUENTIAL -> {
+                for (int i = from; i < to; i++)
+                    entropies[i - offset] = kernel.applyAsDouble(i);
+            }
+            case PARALLEL_OVER_GUESSES -> dictionary.getSolverExecutor().forEach(from, to,
+                    i -> entropies[i - offset] = kernel.applyAsDouble(i));
+            case PARALLEL_OVER_ANSWERS -> {
+                for (int i = from; i < to; i++)
+                    entropies[i - offset] = entropyOverAnswers(guessIds[i], candidates);
+            }
+        }
+    }
+
+    /**
+     * Calculates the entropy of one guess, with the candidates split across the
+     * cores. Each part counts feedback codes in its own histogram, and the
+     * histograms are added up at the end.
+     */
+    private double entropyOverAnswers(int guessId, int[] candidates) {
+        int n = candidates.length;
+        int parts = Math.min(costModel.parallelism(), n);
+        int[][] partHistograms = new int[parts][patternCount];
+        dictionary.getSolverExecutor().forEach(0, parts, part -> {
+            int[] histogram = partHistograms[part];
+            int end = (int) ((long) n * (part + 1) / parts);
+            for (int i = (int) ((long) n * part / parts); i < end; i++)
+                histogram[patterns.getPattern(guessId, candidates[i])]++;
+        });
+        double sum = 0;
+        for (int code = 0; code < patternCount; code++) {
+            int count = 0;
+            for (int[] histogram : partHistograms)
+                count += histogram[code];
+            sum += nLog2n[count];
+        }
+        return (nLog2n[n] - sum) / n;
+    }
+
+    /**
+     * Finds the guess with the highest entropy. Of guesses with equal entropy the
+     * first one is chosen.
+     *
+     * @param guessIds   word IDs of the guesses
+     * @param candidates answer IDs of the possible answers
+     * @return the word ID of the best guess, or -1 if there are no guesses
+     */
+    public int bestGuess(int[] guessIds, int[] candidates) {
+        double[] entropies = entropies(guessIds, candidates);
+        int best = -1;
+        double bestEntropy = -1;
+        for (int i = 0; i < guessIds.length; i++) {
+            if (entropies[i] > bestEntropy + TIE_EPSILON) {
+                bestEntropy = entropies[i];
+                best = guessIds[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the guess with the highest entropy among both the possible answers and
+     * other guess words. No guess can give more than
+     * <code>log2(min(patternCount, N))</code> bits, so the search stops as soon as
+     * a guess reaches that bound. Guesses that share no letter with any
+     * candidate always give zero bits and are skipped.
+     * <br>
+     * </br>
+     * The possible answers are evaluated first, and another guess is only chosen
+     * if its entropy is strictly higher, since guessing a possible answer can
+     * win the game right away.
+     *
+     * @param inSetGuessIds word IDs of the possible answers, in order of preference
+     * @param otherGuessIds word IDs of other allowed guesses
+     * @param candidates    answer IDs of the possible answers
+     * @return the word ID of the best guess, or -1 if there are no guesses
+     */
+    public int bestGuessWithBound(int[] inSetGuessIds, int[] otherGuessIds, int[] candidates) {
+        int n = candidates.length;
+        if (n <= 2)
+            return inSetGuessIds.length > 0 ? inSetGuessIds[0] : -1;
+        double bound = Math.log(Math.min(patternCount, n)) / Math.log(2) - TIE_EPSILON;
+
+        int candidateLetters = 0;
+        for (int guessId : inSetGuessIds)
+            candidateLetters |= dictionary.getWordFeatures().letterMask(guessId);
+
+        Search search = new Search();
+        search.scan(this, inSetGuessIds, candidates, bound, -1);
+        search.scan(this, otherGuessIds, candidates, bound, candidateLetters);
+        return search.best;
+    }
+
+    /**
+     * The best guess found so far by {@link #bestGuessWithBound}.
+     */
+    private static class Search {
+
+        private static final int BLOCK_SIZE = 512;
+
+        private int best = -1;
+        private double bestEntropy = -1;
+
+        private void scan(EntropyEngine engine, int[] guessIds, int[] candidates, double bound,
+                int candidateLetters) {
+            double[] entropies = new double[Math.min(BLOCK_SIZE, guessIds.length)];
+            for (int start = 0; start < guessIds.length; start += BLOCK_SIZE) {
+                if (bestEntropy >= bound)
+                    return;
+                int from = start;
+                int to = Math.min(start + BLOCK_SIZE, guessIds.length);
+                engine.evaluate(guessIds, from, to, candidates, i -> {
+                    int guessId = guessIds[i];
+                    boolean useless = candidateLetters != -1
+                            && (engine.dictionary.getWordFeatures().letterMask(guessId) & candidateLetters) == 0;
+                    return useless ? 0 : engine.entropy(guessId, candidates);
+                }, entropies, from);
+                for (int i = from; i < to; i++) {
+                    if (entropies[i - from] > bestEntropy + TIE_EPSILON) {
+                        bestEntropy = entropies[i - from];
+                        best = guessIds[i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the model deciding how evaluations are run, with the number of
+     *         calls in each mode
+     */
+    public ExecutionCostModel costModel() {
+        return costModel;
+    }
+
+    /**
+     * @return the number of different feedback codes
+     */
+    public int patternCount() {
+        return patternCount;
+    }
+}
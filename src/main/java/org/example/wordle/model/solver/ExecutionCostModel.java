@@ -0,0 +1,174 @@
+package org.example.wordle.model.solver;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Decides how to spread an entropy evaluation of <code>G</code> guesses against
+ * <code>N</code> candidates over <code>P</code> cores, from two measured costs:
+ * <code>c</code>, the time to look up one pattern, and <code>o</code>, the time
+ * to start and join a parallel task.
+ * <ul>
+ * <li>{@link Mode#SEQUENTIAL} takes <code>G * N * c</code>.</li>
+ * <li>{@link Mode#PARALLEL_OVER_GUESSES} takes
+ * <code>ceil(G / P) * N * c + o</code>.</li>
+ * <li>{@link Mode#PARALLEL_OVER_ANSWERS} takes
+ * <code>G * (ceil(N / P) * c + o)</code>, since every guess is split and joined
+ * on its own.</li>
+ * </ul>
+ * The mode with the lowest estimate is chosen, and the number of calls in each
+ * mode is counted.
+ */
+public class ExecutionCostModel {
+
+    /**
+     * How an evaluation is run.
+     */
+    public enum Mode {
+        /** One thread does all the work. */
+        SEQUENTIAL,
+        /** Each guess is split across the cores. */
+        PARALLEL_OVER_ANSWERS,
+        /** The guesses are split across the cores. */
+        PARALLEL_OVER_GUESSES
+    }
+
+    /**
+     * Time spent running the kernel during calibration.
+     */
+    private static final long CALIBRATION_NANOS = 100_000_000;
+
+    private final double nanosPerPattern;
+    private final double parallelOverheadNanos;
+    private final int parallelism;
+    private final LongAdder[] calls = new LongAdder[Mode.values().length];
+
+    /**
+     * Creates a model with the given costs.
+     *
+     * @param nanosPerPattern       time to look up and count one pattern
+     * @param parallelOverheadNanos time to start and join one parallel task
+     * @param parallelism           number of cores to spread the work over
+     */
+    public ExecutionCostModel(double nanosPerPattern, double parallelOverheadNanos, int parallelism) {
+        this.nanosPerPattern = nanosPerPattern;
+        this.parallelOverheadNanos = parallelOverheadNanos;
+        this.parallelism = Math.max(1, parallelism);
+        for (int i = 0; i < calls.length; i++)
+            calls[i] = new LongAdder();
+    }
+
+    /**
+     * Measures the costs with a short benchmark, about 100 milliseconds long.
+     * With a single core nothing is measured.
+     *
+     * @param patternCount the number of patterns a run of <code>kernel</code>
+     *                     looks up
+     * @param kernel       looks up <code>patternCount</code> patterns for the
+     *                     given round, sequentially
+     * @param executor     the executor the work is spread over
+     * @return the calibrated model
+     */
+    public static ExecutionCostModel calibrate(long patternCount, IntConsumer kernel, SolverExecutor executor) {
+        int parallelism = executor.parallelism();
+        // With one core everything runs sequentially, so there is nothing to measure
+        if (parallelism <= 1)
+            return new ExecutionCostModel(0, 0, 1);
+
+        // The kernel is run until the JIT has compiled it, so the fastest round is the steady state
+        final int rounds = 16;
+        long fastest = Long.MAX_VALUE;
+        long end = System.nanoTime() + CALIBRATION_NANOS;
+        for (int round = 0; round < rounds || System.nanoTime() < end; round++) {
+            long start = System.nanoTime();
+            kernel.accept(round);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+            // Lets the compiler threads run on machines with few cores
+            Thread.yield();
+        }
+        double nanosPerPattern = Math.max(fastest, 1) / (double) Math.max(patternCount, 1);
+
+        long fastestFork = Long.MAX_VALUE;
+        for (int round = 0; round < 4 * rounds; round++) {
+            long start = System.nanoTime();
+            executor.forEach(0, parallelism, i -> Thread.onSpinWait());
+            fastestFork = Math.min(fastestFork, System.nanoTime() - start);
+        }
+        return new ExecutionCostModel(nanosPerPattern, fastestFork, parallelism);
+    }
+
+    /**
+     * Chooses the fastest mode for evaluating the given number of guesses against
+     * the given number of candidates, and counts the call.
+     *
+     * @param guesses
+     * @param candidates
+     * @return the mode to use
+     */
+    public Mode choose(int guesses, int candidates) {
+        Mode mode = estimate(guesses, candidates);
+        calls[mode.ordinal()].increment();
+        return mode;
+    }
+
+    /**
+     * Chooses the fastest mode like {@link #choose(int, int)}, without counting
+     * the call.
+     *
+     * @param guesses
+     * @param candidates
+     * @return the mode with the lowest estimated time
+     */
+    public Mode estimate(int guesses, int candidates) {
+        if (parallelism == 1)
+            return Mode.SEQUENTIAL;
+        double sequential = (double) guesses * candidates * nanosPerPattern;
+        double overGuesses = ceilDiv(guesses, parallelism) * candidates * nanosPerPattern + parallelOverheadNanos;
+        double overAnswers = guesses * (ceilDiv(candidates, parallelism) * nanosPerPattern + parallelOverheadNanos);
+        if (sequential <= overGuesses && sequential <= overAnswers)
+            return Mode.SEQUENTIAL;
+        return overGuesses <= overAnswers ? Mode.PARALLEL_OVER_GUESSES : Mode.PARALLEL_OVER_ANSWERS;
+    }
+
+    private static double ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    /**
+     * @param mode
+     * @return the number of calls that used the mode
+     */
+    public long calls(Mode mode) {
+        return calls[mode.ordinal()].sum();
+    }
+
+    /**
+     * @return the number of cores the work is spread over
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return the measured time to look up one pattern
+     */
+    public double nanosPerPattern() {
+        return nanosPerPattern;
+    }
+
+    /**
+     * @return the measured time to start and join a parallel task
+     */
+    public double parallelOverheadNanos() {
+        return parallelOverheadNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (parallelism == 1)
+            return String.format("1 core: %d sequential", calls(Mode.SEQUENTIAL));
+        return String.format("%.2f ns/pattern, %.0f ns/fork, %d cores: %d sequential, %d over answers, %d over guesses",
+                nanosPerPattern, parallelOverheadNanos, parallelism, calls(Mode.SEQUENTIAL),
+                calls(Mode.PARALLEL_OVER_ANSWERS), calls(Mode.PARALLEL_OVER_GUESSES));
+    }
+}
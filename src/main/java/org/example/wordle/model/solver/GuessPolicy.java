@@ -0,0 +1,204 @@
+package org.example.wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.CandidateSet;
+import org.example.wordle.model.word.WordFeatures;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A rule for choosing the next guess given the possible answers. Every policy
+ * considers all legal guess words, evaluates the possible answers first and
+ * only picks another word if it is strictly better, since guessing a possible
+ * answer can win the game right away.
+ */
+public enum GuessPolicy {
+
+    /**
+     * Maximize the entropy of the feedback.
+     */
+    ENTROPY,
+
+    /**
+     * Minimize the number of possible answers left in the worst case.
+     */
+    MINIMAX,
+
+    /**
+     * Minimize the expected number of guesses. The guesses needed after this one
+     * are estimated from the size <code>s</code> of each remaining set as
+     * <code>1 + log2(s) / 2</code>, which is exact for one and two answers.
+     */
+    EXPECTED_GUESSES;
+
+    private static final ThreadLocal<int[]> HISTOGRAMS = ThreadLocal.withInitial(() -> new int[0]);
+
+    /**
+     * Chooses the next guess.
+     *
+     * @param dictionary
+     * @param candidates answer IDs of the possible answers, not empty
+     * @return word ID of the guess
+     */
+    public int chooseGuess(WordleDictionary dictionary, int[] candidates) {
+        return chooseGuess(dictionary, candidates, null);
+    }
+
+    /**
+     * Chooses the next guess among the allowed guess words and the possible
+     * answers, for example in hard mode. The possible answers are always allowed,
+     * since they use every hint.
+     *
+     * @param dictionary
+     * @param candidates     answer IDs of the possible answers, not empty
+     * @param allowedGuesses word IDs of the allowed guess words, or null if all
+     *                       are allowed
+     * @return word ID of the guess
+     */
+    public int chooseGuess(WordleDictionary dictionary, int[] candidates, CandidateSet allowedGuesses) {
+        int[] inSetGuessIds = new int[candidates.length];
+        boolean[] inSet = new boolean[dictionary.wordCount()];
+        WordFeatures features = dictionary.getWordFeatures();
+        int candidateLetters = 0;
+        for (int i = 0; i < candidates.length; i++) {
+            inSetGuessIds[i] = dictionary.getAnswerWordId(candidates[i]);
+            inSet[inSetGuessIds[i]] = true;
+            candidateLetters |= features.letterMask(inSetGuessIds[i]);
+        }
+        // Words sharing no letter with any candidate never split the candidates
+        int[] otherGuessIds = new int[dictionary.guessCount()];
+        int others = 0;
+        for (int wordId = 0; wordId < dictionary.guessCount(); wordId++) {
+            if (!inSet[wordId] && (features.letterMask(wordId) & candidateLetters) != 0
+                    && (allowedGuesses == null || allowedGuesses.contains(wordId)))
+                otherGuessIds[others++] = wordId;
+        }
+        otherGuessIds = Arrays.copyOf(otherGuessIds, others);
+
+        if (this == ENTROPY)
+            return dictionary.getEntropyEngine().bestGuessWithBound(inSetGuessIds, otherGuessIds, candidates);
+        if (this == MINIMAX)
+            return bestByLargestPart(dictionary, concat(inSetGuessIds, otherGuessIds), candidates);
+        return bestByCost(dictionary, concat(inSetGuessIds, otherGuessIds), candidates);
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] all = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    /**
+     * Finds the first guess with the smallest largest part. The guesses are
+     * evaluated in parallel, and counting stops for a guess as soon as one of
+     * its parts is larger than the best largest part found so far, since such a
+     * guess can not be chosen.
+     */
+    private static int bestByLargestPart(WordleDictionary dictionary, int[] guessIds, int[] candidates) {
+        PatternTable patterns = dictionary.getPatternTable();
+        int patternCount = WordleAnswer.patternCount(dictionary.WORD_LENGTH);
+        AtomicInteger bound = new AtomicInteger(candidates.length);
+        int[] largest = new int[guessIds.length];
+        dictionary.getSolverExecutor().forEach(0, guessIds.length, i -> {
+            largest[i] = largestPart(patterns, patternCount, guessIds[i], candidates, bound.get());
+            bound.accumulateAndGet(largest[i], Math::min);
+        });
+
+        int best = -1;
+        int bestLargest = Integer.MAX_VALUE;
+        for (int i = 0; i < guessIds.length; i++) {
+            if (largest[i] < bestLargest) {
+                bestLargest = largest[i];
+                best = guessIds[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts the size of the largest part of the candidates when split by the
+     * feedback on the guess.
+     *
+     * @param limit counting stops as soon as a part is larger than this
+     * @return the size of the largest part, or a number larger than
+     *         <code>limit</code> if counting stopped early
+     */
+    static int largestPart(PatternTable patterns, int patternCount, int guessId, int[] candidates, int limit) {
+        int[] histogram = histogram(patternCount);
+        int largest = 0;
+        int counted = 0;
+        while (counted < candidates.length && largest <= limit) {
+            int count = ++histogram[patterns.getPattern(guessId, candidates[counted++])];
+            largest = Math.max(largest, count);
+        }
+        for (int i = 0; i < counted; i++)
+            histogram[patterns.getPattern(guessId, candidates[i])] = 0;
+        return largest;
+    }
+
+    private static int[] histogram(int patternCount) {
+        int[] histogram = HISTOGRAMS.get();
+        if (histogram.length < patternCount) {
+            histogram = new int[patternCount];
+            HISTOGRAMS.set(histogram);
+        }
+        return histogram;
+    }
+
+    private int bestByCost(WordleDictionary dictionary, int[] guessIds, int[] candidates) {
+        PatternTable patterns = dictionary.getPatternTable();
+        int patternCount = WordleAnswer.patternCount(dictionary.WORD_LENGTH);
+        int winningCode = WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH);
+
+        double[] costs = new double[guessIds.length];
+        dictionary.getSolverExecutor().forEach(0, guessIds.length,
+                i -> costs[i] = cost(patterns, patternCount, winningCode, guessIds[i], candidates));
+
+        int best = -1;
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < guessIds.length; i++) {
+            if (costs[i] < bestCost - EntropyEngine.TIE_EPSILON) {
+                bestCost = costs[i];
+                best = guessIds[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores a guess by the {@link #MINIMAX} or {@link #EXPECTED_GUESSES} rule,
+     * lower is better.
+     */
+    double cost(PatternTable patterns, int patternCount, int winningCode, int guessId, int[] candidates) {
+        int[] histogram = histogram(patternCount);
+        for (int answerId : candidates)
+            histogram[patterns.getPattern(guessId, answerId)]++;
+
+        // Add up each partition once, clearing the histogram on the way
+        int largest = 0;
+        double remaining = 0;
+        for (int answerId : candidates) {
+            int code = patterns.getPattern(guessId, answerId);
+            int count = histogram[code];
+            if (count == 0)
+                continue;
+            histogram[code] = 0;
+            largest = Math.max(largest, count);
+            if (code != winningCode)
+                remaining += count * estimatedGuesses(count);
+        }
+        if (this == MINIMAX)
+            return largest;
+        return 1 + remaining / candidates.length;
+    }
+
+    /**
+     * Estimates the guesses needed to find one of the given number of answers.
+     */
+    static double estimatedGuesses(int answers) {
+        return 1 + Math.log(answers) / Math.log(2) / 2;
+    }
+}
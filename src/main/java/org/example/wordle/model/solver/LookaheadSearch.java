@@ -0,0 +1,191 @@
+package org.example.wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.CandidateSet;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses guesses by the expected number of guesses needed to win, looking
+ * two guesses ahead.
+ * <br>
+ * </br>
+ * A guess is scored by splitting the possible answers by feedback and giving
+ * each part the cost of its best follow-up guess. A follow-up guess is scored
+ * with the estimate of {@link GuessPolicy#EXPECTED_GUESSES}. Both levels only
+ * consider a shortlist of the guesses with the highest entropy, and the cost
+ * of each part is remembered by its fingerprint, since the same parts come up
+ * again for different guesses and in later games. The guesses of the first
+ * level are evaluated in parallel. Once the deadline of the move has passed no
+ * new part is scored, and guesses that are not fully scored are left out.
+ * <br>
+ * </br>
+ * The remembered costs are kept in a {@link CostTable}, which keeps the
+ * largest parts when it is full.
+ */
+public class LookaheadSearch {
+
+    private static final int MEMO_CAPACITY = 1 << 16;
+
+    private final WordleDictionary dictionary;
+    private final PatternTable patterns;
+    private final EntropyEngine engine;
+    private final int patternCount;
+    private final int winningCode;
+    private final int shortlistSize;
+    private final int followUpSize;
+
+    /**
+     * The cost of solving each part, keyed by its fingerprint.
+     */
+    private final CostTable memo = new CostTable(MEMO_CAPACITY);
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder memoMisses = new LongAdder();
+
+    /**
+     * Creates a search for the given dictionary.
+     *
+     * @param dictionary
+     * @param shortlistSize number of guesses scored for each move
+     * @param followUpSize  number of follow-up guesses scored for each part
+     */
+    public LookaheadSearch(WordleDictionary dictionary, int shortlistSize, int followUpSize) {
+        if (shortlistSize < 1 || followUpSize < 1)
+            throw new IllegalArgumentException("Shortlists must hold at least one guess");
+        this.dictionary = dictionary;
+        this.patterns = dictionary.getPatternTable();
+        this.engine = dictionary.getEntropyEngine();
+        this.patternCount = WordleAnswer.patternCount(dictionary.WORD_LENGTH);
+        this.winningCode = WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH);
+        this.shortlistSize = shortlistSize;
+        this.followUpSize = followUpSize;
+    }
+
+    /**
+     * Finds the guess with the lowest expected number of guesses. The guess with
+     * the highest entropy is always scored, also if the deadline has passed.
+     *
+     * @param candidates answer IDs of the possible answers
+     * @param deadline   the value of {@link System#nanoTime()} after which no
+     *                   more guesses are scored
+     * @return word ID of the best guess, or -1 if there are no possible answers
+     */
+    public int bestGuess(int[] candidates, long deadline) {
+        if (candidates.length == 0)
+            return -1;
+        if (candidates.length <= 2)
+            return dictionary.getAnswerWordId(candidates[0]);
+
+        int[] shortlist = shortlist(candidates, shortlistSize);
+        double[] costs = new double[shortlist.length];
+        Arrays.fill(costs, Double.NaN);
+        dictionary.getSolverExecutor().forEach(0, shortlist.length,
+                i -> costs[i] = expectedGuesses(shortlist[i], candidates, i == 0 ? Long.MAX_VALUE : deadline));
+
+        int best = shortlist[0];
+        double bestCost = costs[0];
+        for (int i = 1; i < shortlist.length; i++) {
+            if (costs[i] < bestCost - EntropyEngine.TIE_EPSILON) {
+                bestCost = costs[i];
+                best = shortlist[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Calculates the expected number of guesses, this one included, to win after
+     * making the given guess.
+     *
+     * @return the expected number of guesses, or NaN if the deadline passed
+     *         before every part was scored
+     */
+    private double expectedGuesses(int guessId, int[] candidates, long deadline) {
+        double remaining = 0;
+        for (int[] part : Partitions.split(patterns, patternCount, winningCode, guessId, candidates)) {
+            if (System.nanoTime() >= deadline)
+                return Double.NaN;
+            int[] answers = Arrays.copyOfRange(part, 1, part.length);
+            remaining += answers.length * solveCost(answers);
+        }
+        return 1 + remaining / candidates.length;
+    }
+
+    /**
+     * Estimates the number of guesses needed to find one of the given answers,
+     * by the best follow-up guess on the shortlist.
+     */
+    private double solveCost(int[] answers) {
+        if (answers.length <= 2)
+            return GuessPolicy.estimatedGuesses(answers.length);
+        long fingerprint = CandidateSet.fingerprintOf(answers);
+        double known = memo.get(fingerprint, answers.length);
+        if (!Double.isNaN(known)) {
+            memoHits.increment();
+            return known;
+        }
+        memoMisses.increment();
+
+        double best = Double.MAX_VALUE;
+        for (int followUp : shortlist(answers, followUpSize))
+            best = Math.min(best, GuessPolicy.EXPECTED_GUESSES.cost(patterns, patternCount, winningCode, followUp, answers));
+        memo.put(fingerprint, answers.length, best);
+        return best;
+    }
+
+    /**
+     * Lists the guesses with the highest entropy, best first. Possible answers
+     * come before other guesses with the same entropy.
+     */
+    private int[] shortlist(int[] candidates, int size) {
+        int[] guessIds = new int[candidates.length + dictionary.guessCount()];
+        boolean[] inSet = new boolean[dictionary.wordCount()];
+        int count = 0;
+        for (int answerId : candidates) {
+            int wordId = dictionary.getAnswerWordId(answerId);
+            inSet[wordId] = true;
+            guessIds[count++] = wordId;
+        }
+        for (int wordId = 0; wordId < dictionary.guessCount(); wordId++) {
+            if (!inSet[wordId])
+                guessIds[count++] = wordId;
+        }
+
+        int[] top = new int[Math.min(size, count)];
+        double[] topEntropies = new double[top.length];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            double entropy = engine.entropy(guessIds[i], candidates);
+            if (found == top.length && entropy <= topEntropies[found - 1] + EntropyEngine.TIE_EPSILON)
+                continue;
+            // Insert after all entries that are at least as good
+            int at = Math.min(found, top.length - 1);
+            while (at > 0 && entropy > topEntropies[at - 1] + EntropyEngine.TIE_EPSILON) {
+                top[at] = top[at - 1];
+                topEntropies[at] = topEntropies[at - 1];
+                at--;
+            }
+            top[at] = guessIds[i];
+            topEntropies[at] = entropy;
+            found = Math.min(found + 1, top.length);
+        }
+        return top;
+    }
+
+    /**
+     * @return the number of parts whose cost was remembered
+     */
+    public long memoHits() {
+        return memoHits.sum();
+    }
+
+    /**
+     * @return the number of parts whose cost had to be computed
+     */
+    public long memoMisses() {
+        return memoMisses.sum();
+    }
+}
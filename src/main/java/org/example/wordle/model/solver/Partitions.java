@@ -0,0 +1,51 @@
+package org.example.wordle.model.solver;
+
+import org.example.wordle.model.word.PatternTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits possible answers by the feedback they give on a guess.
+ */
+final class Partitions {
+
+    private Partitions() {
+    }
+
+    /**
+     * Splits the candidates by the feedback code of the guess, leaving out the
+     * winning code. The candidates keep their order within each part.
+     *
+     * @param patterns     the pattern table of the dictionary
+     * @param patternCount the number of different feedback codes
+     * @param winningCode  the code of an all-correct guess
+     * @param guessId      word ID of the guess
+     * @param candidates   answer IDs of the possible answers
+     * @return for each code in increasing order, the code followed by the
+     *         candidates giving it
+     */
+    static List<int[]> split(PatternTable patterns, int patternCount, int winningCode, int guessId,
+            int[] candidates) {
+        int[] counts = new int[patternCount];
+        for (int answerId : candidates)
+            counts[patterns.getPattern(guessId, answerId)]++;
+
+        int[][] byCode = new int[patternCount][];
+        List<int[]> parts = new ArrayList<>();
+        for (int code = 0; code < patternCount; code++) {
+            if (counts[code] == 0 || code == winningCode)
+                continue;
+            byCode[code] = new int[counts[code] + 1];
+            byCode[code][0] = code;
+            counts[code] = 1;
+            parts.add(byCode[code]);
+        }
+        for (int answerId : candidates) {
+            int code = patterns.getPattern(guessId, answerId);
+            if (code != winningCode)
+                byCode[code][counts[code]++] = answerId;
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.CandidateSet;
+import org.example.wordle.model.word.WordFeatures;
+
+import java.util.Arrays;
+
+/**
+ * Picks a guess in two stages. Every allowed guess word is first given a cheap
+ * letter coverage score from the letter frequencies of the possible answers,
+ * and only the best <code>shortlistSize</code> of them get their exact entropy
+ * computed.
+ * <br>
+ * </br>
+ * A letter found in a fraction <code>f</code> of the possible answers splits
+ * them best when <code>f</code> is near one half, so each distinct letter of a
+ * guess scores <code>c * (N - c)</code>, where <code>c</code> is the number of
+ * times the letter occurs among the <code>N</code> possible answers. Each
+ * position scores the same for the number of answers with that letter there.
+ * Possible answers are preferred over other guesses of equal entropy, as in
+ * {@link EntropyEngine#bestGuessWithBound(int[], int[], int[])}, and when there
+ * are no more of them than the shortlist size they are all evaluated.
+ */
+public class ShortlistSelector {
+
+    private final WordleDictionary dictionary;
+    private final int shortlistSize;
+
+    /**
+     * Creates a selector for the given dictionary.
+     *
+     * @param dictionary
+     * @param shortlistSize number of guesses whose exact entropy is computed
+     */
+    public ShortlistSelector(WordleDictionary dictionary, int shortlistSize) {
+        if (shortlistSize < 1)
+            throw new IllegalArgumentException("The shortlist must hold at least one guess, but got " + shortlistSize);
+        this.dictionary = dictionary;
+        this.shortlistSize = shortlistSize;
+    }
+
+    /**
+     * Finds the shortlisted guess with the highest entropy.
+     *
+     * @param candidates        answer IDs of the possible answers
+     * @param letterFrequencies <code>[position][letter]</code> counts of the
+     *                          possible answers
+     * @param allowedGuesses    word IDs of the allowed guess words, or null if
+     *                          all are allowed
+     * @return the word ID of the best guess, or -1 if there are no possible
+     *         answers
+     */
+    public int bestGuess(int[] candidates, int[][] letterFrequencies, CandidateSet allowedGuesses) {
+        if (candidates.length <= 2)
+            return candidates.length == 0 ? -1 : dictionary.getAnswerWordId(candidates[0]);
+
+        int[] shortlist = shortlist(candidates.length, letterFrequencies, allowedGuesses);
+        boolean[] inSet = new boolean[dictionary.wordCount()];
+        for (int answerId : candidates)
+            inSet[dictionary.getAnswerWordId(answerId)] = true;
+        int[] inSetGuessIds = new int[shortlist.length + candidates.length];
+        int[] otherGuessIds = new int[shortlist.length];
+        int inSetCount = 0;
+        int otherCount = 0;
+        // When there are few possible answers they are all worth the exact entropy
+        if (candidates.length <= shortlistSize) {
+            for (int answerId : candidates)
+                inSetGuessIds[inSetCount++] = dictionary.getAnswerWordId(answerId);
+        }
+        for (int wordId : shortlist) {
+            if (!inSet[wordId])
+                otherGuessIds[otherCount++] = wordId;
+            else if (candidates.length > shortlistSize)
+                inSetGuessIds[inSetCount++] = wordId;
+        }
+        return dictionary.getEntropyEngine().bestGuessWithBound(Arrays.copyOf(inSetGuessIds, inSetCount),
+                Arrays.copyOf(otherGuessIds, otherCount), candidates);
+    }
+
+    /**
+     * Lists the allowed guess words with the highest letter coverage score, best
+     * first.
+     *
+     * @param candidateCount    number of possible answers
+     * @param letterFrequencies <code>[position][letter]</code> counts of the
+     *                          possible answers
+     * @param allowedGuesses    word IDs of the allowed guess words, or null if
+     *                          all are allowed
+     * @return word IDs of at most <code>shortlistSize</code> guesses
+     */
+    public int[] shortlist(int candidateCount, int[][] letterFrequencies, CandidateSet allowedGuesses) {
+        long n = candidateCount;
+        long[] letterScores = new long[26];
+        for (int[] position : letterFrequencies) {
+            for (int letter = 0; letter < 26; letter++)
+                letterScores[letter] += position[letter];
+        }
+        for (int letter = 0; letter < 26; letter++)
+            letterScores[letter] = Math.min(letterScores[letter], n) * (n - Math.min(letterScores[letter], n));
+
+        // The best guesses seen so far, best first; earlier words win ties
+        WordFeatures features = dictionary.getWordFeatures();
+        int[] top = new int[shortlistSize];
+        long[] topScores = new long[shortlistSize];
+        int found = 0;
+        for (int wordId = 0; wordId < dictionary.guessCount(); wordId++) {
+            if (allowedGuesses != null && !allowedGuesses.contains(wordId))
+                continue;
+            long score = 0;
+            for (int letters = features.letterMask(wordId); letters != 0; letters &= letters - 1)
+                score += letterScores[Integer.numberOfTrailingZeros(letters)];
+            for (int p = 0; p < letterFrequencies.length; p++) {
+                long count = letterFrequencies[p][dictionary.letterAt(wordId, p)];
+                score += count * (n - count);
+            }
+            if (found == top.length && score <= topScores[found - 1])
+                continue;
+            // Insert after all entries that are at least as good
+            int at = Math.min(found, top.length - 1);
+            while (at > 0 && score > topScores[at - 1]) {
+                top[at] = top[at - 1];
+                topScores[at] = topScores[at - 1];
+                at--;
+            }
+            top[at] = wordId;
+            topScores[at] = score;
+            found = Math.min(found + 1, top.length);
+        }
+        return found == top.length ? top : Arrays.copyOf(top, found);
+    }
+
+    /**
+     * @return the number of guesses whose exact entropy is computed
+     */
+    public int shortlistSize() {
+        return shortlistSize;
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.wordle.model.solver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * The threads the solvers run their parallel work on. Each executor has its
+ * own {@link ForkJoinPool}, so a long search neither competes with other users
+ * of the common pool nor takes more cores than it is given.
+ * <br>
+ * </br>
+ * Loops are split in one of two ways, see {@link Partitioning}. Java cannot
+ * pin threads to cores, so {@link Partitioning#STATIC} gives each worker one
+ * fixed, contiguous part of the range instead: the parts never move between
+ * workers and each keeps its data close together.
+ */
+public class SolverExecutor implements AutoCloseable {
+
+    /**
+     * How a loop is split across the workers.
+     */
+    public enum Partitioning {
+        /** Small chunks that idle workers steal from busy ones. */
+        DYNAMIC,
+        /** One contiguous part of the range for each worker. */
+        STATIC
+    }
+
+    private static volatile SolverExecutor defaultExecutor;
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final Partitioning partitioning;
+
+    /**
+     * The costs measured on this executor, or null until the first
+     * {@link EntropyEngine} using it measured them.
+     */
+    private volatile ExecutionCostModel calibration;
+
+    /**
+     * Creates an executor with its own pool of worker threads. The threads are
+     * named <code>threadName-0</code>, <code>threadName-1</code> and so on.
+     *
+     * @param parallelism  number of worker threads
+     * @param threadName   prefix of the names of the worker threads
+     * @param partitioning how loops are split across the workers
+     */
+    public SolverExecutor(int parallelism, String threadName, Partitioning partitioning) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1, but got " + parallelism);
+        this.parallelism = parallelism;
+        this.partitioning = partitioning;
+        this.pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName(threadName + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Creates an executor with its own pool of worker threads and dynamic
+     * partitioning.
+     *
+     * @param parallelism number of worker threads
+     * @param threadName  prefix of the names of the worker threads
+     */
+    public SolverExecutor(int parallelism, String threadName) {
+        this(parallelism, threadName, Partitioning.DYNAMIC);
+    }
+
+    /**
+     * Gets the executor shared by dictionaries that are not given one. It has a
+     * worker for each available core, unless the system property
+     * <code>wordle.solver.parallelism</code> says otherwise. It is created the
+     * first time this method is called.
+     *
+     * @return the default executor
+     */
+    public static SolverExecutor getDefault() {
+        SolverExecutor executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (SolverExecutor.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    int parallelism = Integer.getInteger("wordle.solver.parallelism",
+                            Runtime.getRuntime().availableProcessors());
+                    executor = new SolverExecutor(parallelism, "wordle-solver");
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Runs <code>body</code> for every index from <code>from</code> (inclusive)
+     * to <code>to</code> (exclusive) on the workers of this executor, and waits
+     * until all are done. With one worker, or one index, the loop runs on the
+     * calling thread.
+     *
+     * @param from
+     * @param to
+     * @param body
+     */
+    public void forEach(int from, int to, IntConsumer body) {
+        if (to - from <= 0)
+            return;
+        if (parallelism == 1 || to - from == 1) {
+            for (int i = from; i < to; i++)
+                body.accept(i);
+            return;
+        }
+        if (partitioning == Partitioning.STATIC) {
+            int parts = Math.min(parallelism, to - from);
+            invoke(new Part(from, to, parts, 0, parts, body));
+            return;
+        }
+        // A parallel stream started on a worker runs in that worker's pool
+        if (ForkJoinTask.getPool() == pool)
+            IntStream.range(from, to).parallel().forEach(body);
+        else
+            pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(from, to).parallel().forEach(body)));
+    }
+
+    /**
+     * Gets the costs measured on this executor, measuring them with
+     * <code>calibrate</code> the first time. The measurement takes about 100
+     * milliseconds, and every engine on this executor runs the same kernel on
+     * the same workers, so it is only done once.
+     *
+     * @param calibrate measures the costs
+     * @return the costs measured on this executor
+     */
+    ExecutionCostModel calibration(Supplier<ExecutionCostModel> calibrate) {
+        ExecutionCostModel model = calibration;
+        if (model == null) {
+            synchronized (this) {
+                model = calibration;
+                if (model == null) {
+                    model = calibrate.get();
+                    calibration = model;
+                }
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Runs the given task on the workers of this executor and waits for its
+     * result.
+     *
+     * @param <T>
+     * @param task
+     * @return the result of the task
+     */
+    public <T> T invoke(ForkJoinTask<T> task) {
+        if (ForkJoinTask.getPool() == pool)
+            return task.invoke();
+        return pool.invoke(task);
+    }
+
+    /**
+     * Parts <code>first..last-1</code> of a range split into <code>parts</code>
+     * equal parts, halved until each task runs one part.
+     */
+    @SuppressWarnings("serial")
+    private static class Part extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int parts;
+        private final int first;
+        private final int last;
+        private final IntConsumer body;
+
+        private Part(int from, int to, int parts, int first, int last, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.parts = parts;
+            this.first = first;
+            this.last = last;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first > 1) {
+                int middle = (first + last) >>> 1;
+                invokeAll(new Part(from, to, parts, first, middle, body),
+                        new Part(from, to, parts, middle, last, body));
+                return;
+            }
+            long size = to - from;
+            int end = from + (int) (size * (first + 1) / parts);
+            for (int i = from + (int) (size * first / parts); i < end; i++)
+                body.accept(i);
+        }
+    }
+
+    /**
+     * @return the number of worker threads
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return how loops are split across the workers
+     */
+    public Partitioning partitioning() {
+        return partitioning;
+    }
+
+    /**
+     * Stops the worker threads once the work already given to them is done.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
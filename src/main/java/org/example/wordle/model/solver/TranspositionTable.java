@@ -0,0 +1,130 @@
+package org.example.wordle.model.solver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size cache of the best guess for sets of possible answers, keyed by
+ * the fingerprint of the set (see
+ * {@link org.example.wordle.model.word.CandidateSet#fingerprint()}) and its
+ * size. A table is only valid for one guess policy.
+ * <br>
+ * </br>
+ * The table is split into buckets of two entries. The first entry of a bucket
+ * keeps the largest set stored in it, since large sets are the most expensive
+ * to search again, and the second entry always takes the newest set. Each
+ * entry is two longs: the key XOR the data, and the data. An entry is only
+ * used if the two agree, so readers never need a lock, and an entry written
+ * by two threads at once is seen as missing rather than wrong.
+ */
+public class TranspositionTable {
+
+    private final AtomicLongArray entries;
+    private final int bucketMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a table with room for at least <code>capacity</code> entries.
+     *
+     * @param capacity
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 2)
+            throw new IllegalArgumentException("Capacity must be at least 2, but was " + capacity);
+        int buckets = Integer.highestOneBit(capacity - 1);
+        this.bucketMask = buckets - 1;
+        this.entries = new AtomicLongArray(buckets * 4);
+    }
+
+    /**
+     * Looks up the best guess for a set of possible answers.
+     *
+     * @param fingerprint fingerprint of the set
+     * @param size        number of possible answers in the set
+     * @return word ID of the stored guess, or -1 if the set is not in the table
+     */
+    public int get(long fingerprint, int size) {
+        int bucket = bucket(fingerprint);
+        for (int slot = bucket; slot < bucket + 4; slot += 2) {
+            long data = entries.get(slot + 1);
+            if (data != 0 && (entries.get(slot) ^ data) == fingerprint && size(data) == size) {
+                hits.increment();
+                return guess(data);
+            }
+        }
+        misses.increment();
+        return -1;
+    }
+
+    /**
+     * Stores the best guess for a set of possible answers.
+     *
+     * @param fingerprint fingerprint of the set
+     * @param size        number of possible answers in the set
+     * @param guessId     word ID of the best guess
+     */
+    public void put(long fingerprint, int size, int guessId) {
+        int bucket = bucket(fingerprint);
+        long data = ((long) size << 32) | (guessId & 0xFFFFFFFFL);
+        int slot = bucket;
+        long keptData = entries.get(bucket + 1);
+        if (keptData != 0 && size < size(keptData) && (entries.get(bucket) ^ keptData) != fingerprint)
+            slot = bucket + 2;
+        long oldData = entries.get(slot + 1);
+        if (oldData != 0 && (entries.get(slot) ^ oldData) != fingerprint)
+            evictions.increment();
+        entries.set(slot, fingerprint ^ data);
+        entries.set(slot + 1, data);
+    }
+
+    private int bucket(long fingerprint) {
+        return ((int) (fingerprint ^ (fingerprint >>> 32)) & bucketMask) * 4;
+    }
+
+    private static int size(long data) {
+        return (int) (data >>> 32);
+    }
+
+    private static int guess(long data) {
+        return (int) data;
+    }
+
+    /**
+     * @return the number of lookups that found their set
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find their set
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of stored sets that were replaced by another set
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of entries the table can hold
+     */
+    public int capacity() {
+        return entries.length() / 2;
+    }
+
+    @Override
+    public String toString() {
+        long hits = hits();
+        long lookups = hits + misses();
+        return String.format("TranspositionTable[capacity=%d, hits=%d, misses=%d, hit rate=%.1f%%, evictions=%d]",
+                capacity(), hits, misses(), lookups == 0 ? 0 : 100.0 * hits / lookups, evictions());
+    }
+}
@@ -0,0 +1,361 @@
+package org.example.wordle.model.word;
+
+import java.util.Arrays;
+
+/**
+ * A set of word indices (answer IDs or word IDs) stored as a bitset. Applying
+ * feedback to the set is a few AND and AND-NOT operations with the
+ * {@link LetterPostings} of the word list, and the size is a popcount.
+ * <br>
+ * </br>
+ * The set also keeps a Zobrist fingerprint: the XOR of a fixed random key for
+ * each index in the set. It is updated with every index that is added or
+ * removed, so equal sets always have the same fingerprint, and different sets
+ * almost never do.
+ * <br>
+ * </br>
+ * In the same way the set can keep {@link LetterFrequencies} of its members up
+ * to date.
+ */
+public class CandidateSet {
+
+    private final long[] bits;
+    private final int capacity;
+    private int size;
+    private long fingerprint;
+
+    /**
+     * The members in increasing order, or null if the set changed since they were
+     * last listed. Volatile since sets that no longer change are read by many
+     * solver threads at once, and each may be the one to list the members.
+     */
+    private volatile int[] members;
+
+    /**
+     * The letter frequencies of the members, or null if they are not kept.
+     */
+    private LetterFrequencies frequencies;
+
+    /**
+     * Creates an empty set that can hold the indices <code>0..capacity-1</code>.
+     *
+     * @param capacity
+     */
+    public CandidateSet(int capacity) {
+        this.capacity = capacity;
+        this.bits = new long[words(capacity)];
+    }
+
+    private CandidateSet(CandidateSet other) {
+        this.capacity = other.capacity;
+        this.bits = other.bits.clone();
+        this.size = other.size;
+        this.fingerprint = other.fingerprint;
+        this.members = other.members;
+        this.frequencies = other.frequencies == null ? null : other.frequencies.copy();
+    }
+
+    /**
+     * Creates a set holding all the indices <code>0..capacity-1</code>.
+     *
+     * @param capacity
+     * @return the full set
+     */
+    public static CandidateSet all(int capacity) {
+        CandidateSet set = new CandidateSet(capacity);
+        Arrays.fill(set.bits, -1L);
+        set.clearUnusedBits();
+        set.size = capacity;
+        for (int index = 0; index < capacity; index++)
+            set.fingerprint ^= key(index);
+        return set;
+    }
+
+    /**
+     * Gets the random key of an index, used for the fingerprint. The keys are
+     * the output of the SplitMix64 generator, so they are the same in every run.
+     *
+     * @param index
+     * @return the key of the index
+     */
+    static long key(int index) {
+        long z = (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Computes the fingerprint a set with the given indices would have.
+     *
+     * @param indices distinct indices
+     * @return the XOR of the keys of the indices
+     */
+    public static long fingerprintOf(int[] indices) {
+        long fingerprint = 0;
+        for (int index : indices)
+            fingerprint ^= key(index);
+        return fingerprint;
+    }
+
+    static int words(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+
+    private void clearUnusedBits() {
+        int extra = bits.length * 64 - capacity;
+        if (extra > 0)
+            bits[bits.length - 1] &= -1L >>> extra;
+    }
+
+    /**
+     * Keeps the given letter frequencies up to date as the set changes. They must
+     * count the current members of this set.
+     *
+     * @param frequencies
+     */
+    public void trackLetterFrequencies(LetterFrequencies frequencies) {
+        this.frequencies = frequencies;
+    }
+
+    /**
+     * @return the letter frequencies kept by this set, or null if there are none
+     */
+    public LetterFrequencies letterFrequencies() {
+        return frequencies;
+    }
+
+    /**
+     * @return a copy of this set, with a copy of its letter frequencies
+     */
+    public CandidateSet copy() {
+        return new CandidateSet(this);
+    }
+
+    /**
+     * Adds the given index to the set.
+     *
+     * @param index
+     */
+    public void add(int index) {
+        long bit = 1L << index;
+        if ((bits[index >>> 6] & bit) == 0) {
+            bits[index >>> 6] |= bit;
+            size++;
+            fingerprint ^= key(index);
+            members = null;
+            if (frequencies != null)
+                frequencies.add(index);
+        }
+    }
+
+    /**
+     * Removes the given index from the set.
+     *
+     * @param index
+     * @return true if the index was in the set
+     */
+    public boolean remove(int index) {
+        long bit = 1L << index;
+        if ((bits[index >>> 6] & bit) == 0)
+            return false;
+        bits[index >>> 6] &= ~bit;
+        size--;
+        fingerprint ^= key(index);
+        members = null;
+        if (frequencies != null)
+            frequencies.remove(index);
+        return true;
+    }
+
+    /**
+     * @param index
+     * @return true if the index is in the set
+     */
+    public boolean contains(int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Keeps only the indices that are also in <code>other</code>.
+     *
+     * @param other bitset with the same capacity
+     */
+    public void and(long[] other) {
+        andInPlace(other);
+        changed();
+    }
+
+    /**
+     * Removes the indices that are in <code>other</code>.
+     *
+     * @param other bitset with the same capacity
+     */
+    public void andNot(long[] other) {
+        andNotInPlace(other);
+        changed();
+    }
+
+    /**
+     * Removes all indices from the set.
+     */
+    public void clear() {
+        Arrays.fill(bits, 0);
+        fingerprint = 0;
+        if (frequencies != null)
+            frequencies.clear();
+        changed();
+    }
+
+    private void changed() {
+        int count = 0;
+        for (long word : bits)
+            count += Long.bitCount(word);
+        size = count;
+        members = null;
+    }
+
+    /**
+     * Keeps only the words that give the compiled feedback.
+     *
+     * @param constraint the compiled feedback
+     * @param postings   the postings of the word list this set indexes
+     */
+    public void apply(FeedbackConstraint constraint, LetterPostings postings) {
+        if (constraint.isImpossible()) {
+            clear();
+            return;
+        }
+        for (int p = 0; p < constraint.wordLength(); p++) {
+            int green = constraint.greenLetter(p);
+            if (green >= 0) {
+                andInPlace(postings.letterAt(p, green));
+                continue;
+            }
+            for (int banned = constraint.bannedLetters(p); banned != 0; banned &= banned - 1)
+                andNotInPlace(postings.letterAt(p, Integer.numberOfTrailingZeros(banned)));
+        }
+        for (int letters = constraint.countedLetters(); letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int min = constraint.minCount(letter);
+            if (min > 0)
+                andInPlace(postings.atLeast(letter, min));
+            if (constraint.isExactCount(letter) && min < postings.wordLength())
+                andNotInPlace(postings.atLeast(letter, min + 1));
+        }
+        changed();
+    }
+
+    /**
+     * Keeps only the words that use the hints of the compiled feedback, as hard
+     * mode requires, see {@link FeedbackConstraint#hardModeViolation(String)}.
+     *
+     * @param constraint the compiled feedback
+     * @param postings   the postings of the word list this set indexes
+     */
+    public void applyHardMode(FeedbackConstraint constraint, LetterPostings postings) {
+        for (int p = 0; p < constraint.wordLength(); p++) {
+            int green = constraint.greenLetter(p);
+            if (green >= 0)
+                andInPlace(postings.letterAt(p, green));
+        }
+        for (int letters = constraint.countedLetters(); letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int min = constraint.minCount(letter);
+            if (min > 0)
+                andInPlace(postings.atLeast(letter, min));
+        }
+        changed();
+    }
+
+    private void andInPlace(long[] other) {
+        for (int i = 0; i < bits.length; i++)
+            retain(i, bits[i] & other[i]);
+    }
+
+    private void andNotInPlace(long[] other) {
+        for (int i = 0; i < bits.length; i++)
+            retain(i, bits[i] & ~other[i]);
+    }
+
+    /**
+     * Replaces word <code>i</code> of the bitset with a subset of it, removing
+     * the cleared indices from the fingerprint and the letter frequencies.
+     */
+    private void retain(int i, long word) {
+        for (long removed = bits[i] & ~word; removed != 0; removed &= removed - 1) {
+            int index = (i << 6) + Long.numberOfTrailingZeros(removed);
+            fingerprint ^= key(index);
+            if (frequencies != null)
+                frequencies.remove(index);
+        }
+        bits[i] = word;
+    }
+
+    /**
+     * @param from
+     * @return the smallest index in the set that is at least <code>from</code>,
+     *         or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        int i = from >>> 6;
+        if (i >= bits.length)
+            return -1;
+        long word = bits[i] & (-1L << from);
+        while (true) {
+            if (word != 0)
+                return (i << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == bits.length)
+                return -1;
+            word = bits[i];
+        }
+    }
+
+    /**
+     * Lists the indices in the set in increasing order. The array is cached until
+     * the set changes, and must not be modified.
+     *
+     * @return the members of the set
+     */
+    public int[] members() {
+        int[] list = members;
+        if (list == null) {
+            list = new int[size];
+            int n = 0;
+            for (int i = 0; i < bits.length; i++) {
+                for (long word = bits[i]; word != 0; word &= word - 1)
+                    list[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+            members = list;
+        }
+        return list;
+    }
+
+    /**
+     * @return the number of indices in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the XOR of the keys of the indices in the set
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the largest index plus one that the set can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+}
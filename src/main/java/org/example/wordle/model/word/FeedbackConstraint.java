@@ -0,0 +1,283 @@
+package org.example.wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+
+/**
+ * A compiled form of the feedback given on one guess. It tells which words are
+ * still possible answers without matching the guess against each word again.
+ * <br>
+ * </br>
+ * The constraint holds:
+ * <ul>
+ * <li>the green letter of each position, if any,</li>
+ * <li>the letters banned from each position (the guess letter at every
+ * position that is not green),</li>
+ * <li>the minimum count of each letter in the guess (its green and yellow
+ * copies), and whether that count is exact (the letter also got a grey).</li>
+ * </ul>
+ * A word satisfies these exactly when matching the guess against it gives the
+ * same feedback: greens are the same positions, and for every letter the
+ * number of yellows is
+ * <code>min(non-green copies in guess, unmatched copies in word)</code>, which
+ * equals the given yellows exactly when the count rules above hold. Yellows
+ * are always given to the leftmost copies of a letter, so feedback that has a
+ * grey copy of a letter before a yellow copy can never be produced, and its
+ * constraint matches no words.
+ * <br>
+ * </br>
+ * Only the letters a-z are compiled. A word with other characters is checked
+ * by matching the guess against it, see
+ * {@link WordleAnswer#matchCode(String, String)}. Other characters of the guess
+ * never match a letter a-z, so a green or yellow one rules out every word made
+ * of the letters a-z, and a grey one says nothing about them.
+ */
+public class FeedbackConstraint {
+
+    private final WordleWord feedback;
+    private final int wordLength;
+
+    /**
+     * The green letter of each position, or -1.
+     */
+    private final byte[] greenLetters;
+
+    /**
+     * The letters that can not be at each position, one bit per letter.
+     */
+    private final int[] bannedLetters;
+
+    /**
+     * The minimum count of each letter.
+     */
+    private final byte[] minCounts;
+
+    /**
+     * Letters with a minimum count, one bit per letter.
+     */
+    private final int countedLetters;
+
+    /**
+     * Letters whose count must be exactly the minimum, one bit per letter.
+     */
+    private final int exactLetters;
+
+    /**
+     * True if the feedback can not be produced by any answer.
+     */
+    private final boolean impossible;
+
+    private FeedbackConstraint(WordleWord feedback) {
+        String guess = feedback.getWordString();
+        this.feedback = feedback;
+        this.wordLength = guess.length();
+        this.greenLetters = new byte[wordLength];
+        this.bannedLetters = new int[wordLength];
+        this.minCounts = new byte[26];
+
+        int counted = 0;
+        int exact = 0;
+        int greyed = 0;
+        boolean impossible = false;
+        int position = 0;
+        for (WordleCharacter wordleChar : feedback) {
+            char c = guess.charAt(position);
+            greenLetters[position] = -1;
+            if (c < 'a' || c > 'z') {
+                if (wordleChar.answerType != AnswerType.WRONG)
+                    impossible = true;
+                position++;
+                continue;
+            }
+            int letter = WordColumns.letterIndex(c);
+            int bit = 1 << letter;
+            switch (wordleChar.answerType) {
+                case CORRECT -> {
+                    greenLetters[position] = (byte) letter;
+                    minCounts[letter]++;
+                    counted |= bit;
+                }
+                case MISPLACED -> {
+                    bannedLetters[position] |= bit;
+                    minCounts[letter]++;
+                    counted |= bit;
+                    // A yellow after a grey copy of the same letter is never given
+                    if ((greyed & bit) != 0)
+                        impossible = true;
+                }
+                default -> {
+                    bannedLetters[position] |= bit;
+                    greyed |= bit;
+                    counted |= bit;
+                    exact |= bit;
+                }
+            }
+            position++;
+        }
+        this.countedLetters = counted;
+        this.exactLetters = exact;
+        this.impossible = impossible;
+    }
+
+    /**
+     * Compiles the given feedback.
+     *
+     * @param feedback
+     * @return the constraint for the feedback
+     */
+    public static FeedbackConstraint compile(WordleWord feedback) {
+        return new FeedbackConstraint(feedback);
+    }
+
+    /**
+     * Checks if <code>word</code> gives the same feedback as the compiled one.
+     *
+     * @param word
+     * @return true if the word is still a possible answer
+     */
+    public boolean matches(String word) {
+        if (word.length() != wordLength)
+            throw new IllegalArgumentException("Word and feedback must have same number of letters but word = "
+                    + word);
+        if (!WordleAnswer.isLowerCaseWord(word))
+            return WordleAnswer.matchCode(feedback.getWordString(), word) == feedback.getFeedbackCode();
+        if (impossible)
+            return false;
+        for (int p = 0; p < wordLength; p++) {
+            if (!allowedAt(p, WordColumns.letterIndex(word.charAt(p))))
+                return false;
+        }
+        for (int letters = countedLetters; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int count = 0;
+            for (int p = 0; p < wordLength; p++) {
+                if (word.charAt(p) - 'a' == letter)
+                    count++;
+            }
+            if (!countAllowed(letter, count))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the word with the given ID gives the same feedback as the
+     * compiled one.
+     *
+     * @param dictionary
+     * @param wordId
+     * @return true if the word is still a possible answer
+     */
+    public boolean matches(WordleDictionary dictionary, int wordId) {
+        if (impossible)
+            return false;
+        for (int p = 0; p < wordLength; p++) {
+            if (!allowedAt(p, dictionary.letterAt(wordId, p)))
+                return false;
+        }
+        WordFeatures features = dictionary.getWordFeatures();
+        for (int letters = countedLetters; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            if (!countAllowed(letter, features.count(wordId, letter)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if <code>guess</code> uses the hints of the compiled feedback, as
+     * hard mode requires: every green letter at its position, and every green or
+     * yellow letter at least as many times as it was hinted.
+     *
+     * @param guess
+     * @return a description of the first hint the guess does not use, or null if
+     *         it uses them all
+     */
+    public String hardModeViolation(String guess) {
+        for (int p = 0; p < wordLength; p++) {
+            int green = greenLetters[p];
+            if (green >= 0 && guess.charAt(p) - 'a' != green)
+                return "Letter " + (p + 1) + " must be '" + (char) ('a' + green) + "'";
+        }
+        for (int letters = countedLetters; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int count = 0;
+            for (int p = 0; p < guess.length(); p++) {
+                if (guess.charAt(p) - 'a' == letter)
+                    count++;
+            }
+            if (count < minCounts[letter])
+                return "Guess must contain '" + (char) ('a' + letter) + "'"
+                        + (minCounts[letter] > 1 ? " " + minCounts[letter] + " times" : "");
+        }
+        return null;
+    }
+
+    private boolean allowedAt(int position, int letter) {
+        int green = greenLetters[position];
+        if (green >= 0)
+            return letter == green;
+        return (bannedLetters[position] & (1 << letter)) == 0;
+    }
+
+    private boolean countAllowed(int letter, int count) {
+        if ((exactLetters & (1 << letter)) != 0)
+            return count == minCounts[letter];
+        return count >= minCounts[letter];
+    }
+
+    /**
+     * @param position
+     * @return the green letter (0-25) at the given position, or -1 if the position
+     *         is not green
+     */
+    public int greenLetter(int position) {
+        return greenLetters[position];
+    }
+
+    /**
+     * @param position
+     * @return the letters that can not be at the given position, one bit per
+     *         letter
+     */
+    public int bannedLetters(int position) {
+        return bannedLetters[position];
+    }
+
+    /**
+     * @param letter 0 for 'a' to 25 for 'z'
+     * @return the minimum number of times the letter is in the answer
+     */
+    public int minCount(int letter) {
+        return minCounts[letter];
+    }
+
+    /**
+     * @return the letters that have a count rule, one bit per letter
+     */
+    public int countedLetters() {
+        return countedLetters;
+    }
+
+    /**
+     * @param letter 0 for 'a' to 25 for 'z'
+     * @return true if the answer has exactly {@link #minCount(int)} copies of the
+     *         letter
+     */
+    public boolean isExactCount(int letter) {
+        return (exactLetters & (1 << letter)) != 0;
+    }
+
+    /**
+     * @return true if no answer can give the compiled feedback
+     */
+    public boolean isImpossible() {
+        return impossible;
+    }
+
+    /**
+     * @return the number of letters in the compiled feedback
+     */
+    public int wordLength() {
+        return wordLength;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.wordle.model.word;
+
+/**
+ * A FeedbackScorer computes the feedback codes (see
+ * {@link WordleAnswer#matchCode(String, String)}) of one guess against a whole
+ * list of answers in one call.
+ * <br>
+ * </br>
+ * The codes are returned as bytes, so only words of at most 5 letters are
+ * supported. Read a code with <code>codes[i] &amp; 0xFF</code>.
+ */
+public interface FeedbackScorer {
+
+    /**
+     * Computes the feedback code of <code>guess</code> against each of the
+     * <code>answers</code> and writes them to <code>codes</code> starting at
+     * <code>offset</code>.
+     *
+     * @param guess
+     * @param answers
+     * @param codes   array receiving <code>answers.size()</code> codes
+     * @param offset  index in <code>codes</code> of the first code
+     */
+    void score(String guess, WordColumns answers, byte[] codes, int offset);
+
+    /**
+     * Computes the feedback code of <code>guess</code> against each of the
+     * <code>answers</code>.
+     *
+     * @param guess
+     * @param answers
+     * @return one code for each answer
+     */
+    default byte[] score(String guess, WordColumns answers) {
+        byte[] codes = new byte[answers.size()];
+        score(guess, answers, codes, 0);
+        return codes;
+    }
+
+    /**
+     * Gets the fastest scorer available in this JVM. That is the SIMD scorer if
+     * the JVM was started with <code>--add-modules jdk.incubator.vector</code>,
+     * and the scalar scorer otherwise.
+     *
+     * @return a feedback scorer
+     */
+    static FeedbackScorer getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    class Holder {
+        private static final FeedbackScorer DEFAULT = create();
+
+        private static FeedbackScorer create() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    return new VectorFeedbackScorer();
+                } catch (LinkageError e) {
+                    // The vector module could not be used, use the scalar scorer instead
+                }
+            }
+            return new ScalarFeedbackScorer();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The hard mode rule of Wordle: every guess must use the hints given so far.
+ * Green letters must stay at their position, and yellow letters must be in
+ * the guess.
+ * <br>
+ * </br>
+ * The guess words that are still allowed are kept as a {@link CandidateSet}
+ * over word IDs. Each new feedback narrows the set with the guess postings of
+ * the dictionary, so checking a guess is a single lookup and the allowed set
+ * is never filtered from scratch.
+ */
+public class HardModeRule {
+
+    private final WordleDictionary dictionary;
+    private final CandidateSet allowedGuesses;
+    private final List<FeedbackConstraint> hints = new ArrayList<>();
+
+    /**
+     * Creates the rule for a new game, where every guess word is allowed.
+     *
+     * @param dictionary
+     */
+    public HardModeRule(WordleDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.allowedGuesses = CandidateSet.all(dictionary.guessCount());
+    }
+
+    private HardModeRule(HardModeRule other) {
+        this.dictionary = other.dictionary;
+        this.allowedGuesses = other.allowedGuesses.copy();
+        this.hints.addAll(other.hints);
+    }
+
+    /**
+     * @return a copy of this rule, that takes new hints separately
+     */
+    public HardModeRule copy() {
+        return new HardModeRule(this);
+    }
+
+    /**
+     * Adds the hints of the given feedback.
+     *
+     * @param feedback
+     */
+    public void addFeedback(WordleWord feedback) {
+        FeedbackConstraint constraint = feedback.getConstraint();
+        hints.add(constraint);
+        allowedGuesses.applyHardMode(constraint, dictionary.getGuessPostings());
+    }
+
+    /**
+     * @param wordId
+     * @return true if the guess word with the given word ID uses all hints
+     */
+    public boolean allows(int wordId) {
+        if (wordId >= 0 && wordId < dictionary.guessCount())
+            return allowedGuesses.contains(wordId);
+        return wordId >= 0 && violation(dictionary.getWord(wordId)) == null;
+    }
+
+    /**
+     * @param guess
+     * @return true if the guess uses all hints
+     */
+    public boolean allows(String guess) {
+        int wordId = dictionary.getWordId(guess);
+        if (wordId >= 0)
+            return allows(wordId);
+        return violation(guess) == null;
+    }
+
+    /**
+     * Checks that the guess uses all hints.
+     *
+     * @param guess
+     * @throws IllegalArgumentException if the guess leaves out a hint
+     */
+    public void check(String guess) {
+        if (allows(guess))
+            return;
+        throw new IllegalArgumentException("Hard mode: " + violation(guess));
+    }
+
+    private String violation(String guess) {
+        for (FeedbackConstraint hint : hints) {
+            String violation = hint.hardModeViolation(guess);
+            if (violation != null)
+                return violation;
+        }
+        return null;
+    }
+
+    /**
+     * The guess words that use all hints, as a set of word IDs. The set must not
+     * be modified.
+     *
+     * @return the allowed guess words
+     */
+    public CandidateSet allowedGuesses() {
+        return allowedGuesses;
+    }
+}
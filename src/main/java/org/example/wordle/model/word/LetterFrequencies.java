@@ -0,0 +1,97 @@
+package org.example.wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+
+import java.util.Arrays;
+
+/**
+ * The number of words in a {@link CandidateSet} with each letter at each
+ * position. The set updates the counts for every index it adds or removes, so
+ * the table never has to be counted again after the first time.
+ */
+public final class LetterFrequencies {
+
+    private final WordleDictionary dictionary;
+    private final int[] wordIds;
+    private final int[][] counts;
+
+    private LetterFrequencies(WordleDictionary dictionary, int[] wordIds, int[][] counts) {
+        this.dictionary = dictionary;
+        this.wordIds = wordIds;
+        this.counts = counts;
+    }
+
+    /**
+     * Counts the letters of the words in the given set. Index <code>i</code> of
+     * the set stands for <code>wordIds[i]</code>.
+     *
+     * @param dictionary
+     * @param wordIds
+     * @param set
+     */
+    public LetterFrequencies(WordleDictionary dictionary, int[] wordIds, CandidateSet set) {
+        this(dictionary, wordIds, new int[dictionary.WORD_LENGTH][26]);
+        for (int index : set.members())
+            add(index);
+    }
+
+    /**
+     * Counts the letters of the answer words in the given set of answer IDs.
+     *
+     * @param dictionary
+     * @param answers
+     * @return the letter frequencies of the answers
+     */
+    public static LetterFrequencies forAnswers(WordleDictionary dictionary, CandidateSet answers) {
+        int[] wordIds = new int[dictionary.answerCount()];
+        for (int i = 0; i < wordIds.length; i++)
+            wordIds[i] = dictionary.getAnswerWordId(i);
+        return new LetterFrequencies(dictionary, wordIds, answers);
+    }
+
+    /**
+     * @return a copy of these counts, that is updated separately
+     */
+    LetterFrequencies copy() {
+        int[][] copy = new int[counts.length][];
+        for (int p = 0; p < counts.length; p++)
+            copy[p] = counts[p].clone();
+        return new LetterFrequencies(dictionary, wordIds, copy);
+    }
+
+    void add(int index) {
+        int wordId = wordIds[index];
+        for (int p = 0; p < counts.length; p++)
+            counts[p][dictionary.letterAt(wordId, p)]++;
+    }
+
+    void remove(int index) {
+        int wordId = wordIds[index];
+        for (int p = 0; p < counts.length; p++)
+            counts[p][dictionary.letterAt(wordId, p)]--;
+    }
+
+    void clear() {
+        for (int[] position : counts)
+            Arrays.fill(position, 0);
+    }
+
+    /**
+     * @param position
+     * @param letter   0 for 'a' to 25 for 'z'
+     * @return the number of words with the letter at the position
+     */
+    public int count(int position, int letter) {
+        return counts[position][letter];
+    }
+
+    /**
+     * The counts as <code>table[position][letter]</code>. The table is updated as
+     * the set changes, and must not be modified.
+     *
+     * @return the counts
+     */
+    public int[][] table() {
+        return counts;
+    }
+}
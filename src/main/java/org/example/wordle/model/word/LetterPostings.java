@@ -0,0 +1,97 @@
+package org.example.wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+
+/**
+ * Posting bitsets for a list of words: for every position and letter the set
+ * of words with that letter at that position, and for every letter and count
+ * <code>k</code> the set of words containing the letter at least
+ * <code>k</code> times. A {@link CandidateSet} over the same word list applies
+ * feedback by combining these sets.
+ */
+public class LetterPostings {
+
+    private final int wordLength;
+    private final long[][] letterAt;
+    private final long[][] atLeast;
+
+    /**
+     * Creates the postings for the words with the given word IDs. Index
+     * <code>i</code> of the bitsets stands for <code>wordIds[i]</code>.
+     *
+     * @param dictionary
+     * @param wordIds
+     */
+    public LetterPostings(WordleDictionary dictionary, int[] wordIds) {
+        this.wordLength = dictionary.WORD_LENGTH;
+        int words = CandidateSet.words(wordIds.length);
+        this.letterAt = new long[wordLength * 26][words];
+        this.atLeast = new long[26 * (wordLength + 1)][words];
+
+        int[] counts = new int[26];
+        for (int i = 0; i < wordIds.length; i++) {
+            long bit = 1L << i;
+            for (int p = 0; p < wordLength; p++) {
+                int letter = dictionary.letterAt(wordIds[i], p);
+                letterAt[p * 26 + letter][i >>> 6] |= bit;
+                counts[letter]++;
+                atLeast[letter * (wordLength + 1) + counts[letter]][i >>> 6] |= bit;
+            }
+            for (int p = 0; p < wordLength; p++)
+                counts[dictionary.letterAt(wordIds[i], p)] = 0;
+        }
+    }
+
+    /**
+     * Creates the postings for the answer words of the dictionary, indexed by
+     * answer ID.
+     *
+     * @param dictionary
+     * @return the answer postings
+     */
+    public static LetterPostings forAnswers(WordleDictionary dictionary) {
+        int[] wordIds = new int[dictionary.answerCount()];
+        for (int i = 0; i < wordIds.length; i++)
+            wordIds[i] = dictionary.getAnswerWordId(i);
+        return new LetterPostings(dictionary, wordIds);
+    }
+
+    /**
+     * Creates the postings for the guess words of the dictionary, indexed by word
+     * ID.
+     *
+     * @param dictionary
+     * @return the guess postings
+     */
+    public static LetterPostings forGuesses(WordleDictionary dictionary) {
+        int[] wordIds = new int[dictionary.guessCount()];
+        for (int i = 0; i < wordIds.length; i++)
+            wordIds[i] = i;
+        return new LetterPostings(dictionary, wordIds);
+    }
+
+    /**
+     * @param position
+     * @param letter   0 for 'a' to 25 for 'z'
+     * @return the words with the letter at the position
+     */
+    public long[] letterAt(int position, int letter) {
+        return letterAt[position * 26 + letter];
+    }
+
+    /**
+     * @param letter 0 for 'a' to 25 for 'z'
+     * @param count  from 1 to the word length
+     * @return the words containing the letter at least <code>count</code> times
+     */
+    public long[] atLeast(int letter, int count) {
+        return atLeast[letter * (wordLength + 1) + count];
+    }
+
+    /**
+     * @return the length of the words
+     */
+    public int wordLength() {
+        return wordLength;
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.wordle.model.word;
+
+import org.example.util.CacheFiles;
+import org.example.wordle.model.WordleDictionary;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * This class holds the feedback code of every word against every answer word
+ * of a dictionary, so that feedback never has to be recomputed while solving.
+ * Rows are indexed by word ID and columns by answer ID, see
+ * {@link WordleDictionary}.
+ * <br>
+ * </br>
+ * Each code is stored in one byte, row by row for each word. The table
+ * is built in parallel the first time it is needed and saved to a cache file
+ * named after the checksum of the dictionary. Later runs memory map that file
+ * instead of building the table again. The header of the file repeats the
+ * checksum and the size of the table, and a file that does not match them is
+ * built again.
+ * <br>
+ * </br>
+ * Feedback codes only fit in a byte for words of at most 5 letters. For longer
+ * words the table computes the feedback on each lookup instead.
+ */
+public class PatternTable {
+
+    private static final int MAGIC = 0x57504154;
+    private static final int HEADER_BYTES = 16;
+
+    private final WordleDictionary dictionary;
+    private final int answerCount;
+
+    /**
+     * The codes, row-major with one row per word ID. Null if the codes do not
+     * fit in a byte.
+     */
+    private final ByteBuffer patterns;
+
+    private PatternTable(WordleDictionary dictionary, ByteBuffer patterns) {
+        this.dictionary = dictionary;
+        this.answerCount = dictionary.answerCount();
+        this.patterns = patterns;
+    }
+
+    /**
+     * Checks if feedback codes for words of the given length fit in one byte.
+     *
+     * @param wordLength
+     * @return true if the codes can be stored in the table
+     */
+    public static boolean supports(int wordLength) {
+        return WordleAnswer.patternCount(wordLength) <= 256;
+    }
+
+    /**
+     * Loads the pattern table of the given dictionary from the cache, or builds
+     * it and writes it to the cache if no cached table exists.
+     *
+     * @param dictionary
+     * @return the pattern table
+     */
+    public static PatternTable load(WordleDictionary dictionary) {
+        if (!supports(dictionary.WORD_LENGTH))
+            return new PatternTable(dictionary, null);
+
+        int wordCount = dictionary.wordCount();
+        int answerCount = dictionary.answerCount();
+        int checksum = (int) Long.parseLong(dictionary.getChecksum(), 16);
+        Path file = CacheFiles.cacheFile("patterns-" + dictionary.getChecksum() + ".bin");
+        MappedByteBuffer mapped = CacheFiles.map(file);
+        if (mapped != null && isValid(mapped, checksum, wordCount, answerCount))
+            return new PatternTable(dictionary, mapped.slice(HEADER_BYTES, wordCount * answerCount));
+
+        byte[] codes = build(dictionary);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC).putInt(checksum).putInt(wordCount).putInt(answerCount).flip();
+        CacheFiles.write(file, header, ByteBuffer.wrap(codes));
+        return new PatternTable(dictionary, ByteBuffer.wrap(codes));
+    }
+
+    private static boolean isValid(ByteBuffer file, int checksum, int wordCount, int answerCount) {
+        return file.capacity() == HEADER_BYTES + (long) wordCount * answerCount
+                && file.getInt(0) == MAGIC
+                && file.getInt(4) == checksum
+                && file.getInt(8) == wordCount
+                && file.getInt(12) == answerCount;
+    }
+
+    /**
+     * Computes all feedback codes, one row (word) per task.
+     */
+    private static byte[] build(WordleDictionary dictionary) {
+        int answerCount = dictionary.answerCount();
+        byte[] codes = new byte[dictionary.wordCount() * answerCount];
+        WordColumns answerColumns = new WordColumns(dictionary.getAnswerWordsList());
+        FeedbackScorer scorer = FeedbackScorer.getDefault();
+        dictionary.getSolverExecutor().forEach(0, dictionary.wordCount(),
+                w -> scorer.score(dictionary.getWord(w), answerColumns, codes, w * answerCount));
+        return codes;
+    }
+
+    /**
+     * Gets the feedback code of the word with the given word ID against the
+     * answer with the given answer ID.
+     *
+     * @param wordId   the ID of the guessed word
+     * @param answerId the ID of the answer
+     * @return the feedback code
+     */
+    public int getPattern(int wordId, int answerId) {
+        if (patterns == null)
+            return WordleAnswer.matchCode(dictionary.getWord(wordId), dictionary.getAnswer(answerId));
+        return patterns.get(wordId * answerCount + answerId) & 0xFF;
+    }
+
+    /**
+     * Gets the feedback code of <code>guess</code> against <code>answer</code>.
+     * Words that are not in the dictionary are matched directly.
+     *
+     * @param guess
+     * @param answer
+     * @return the feedback code
+     */
+    public int getPattern(String guess, String answer) {
+        int wordId = dictionary.getWordId(guess);
+        int answerWordId = dictionary.getWordId(answer);
+        int answerId = answerWordId < 0 ? -1 : dictionary.getAnswerId(answerWordId);
+        if (wordId < 0 || answerId < 0)
+            return WordleAnswer.matchCode(guess, answer);
+        return getPattern(wordId, answerId);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.wordle.model.word;
+
+/**
+ * Computes feedback codes one answer at a time. This works in any JVM, and for
+ * words of any length up to 5 letters.
+ */
+public class ScalarFeedbackScorer implements FeedbackScorer {
+
+    @Override
+    public void score(String guess, WordColumns answers, byte[] codes, int offset) {
+        int wordLength = checkArguments(guess, answers);
+        if (answers.size() == 0)
+            return;
+        byte[] guessLetters = new byte[wordLength];
+        for (int p = 0; p < wordLength; p++)
+            guessLetters[p] = WordColumns.letterIndex(guess.charAt(p));
+        byte[][] columns = new byte[wordLength][];
+        for (int p = 0; p < wordLength; p++)
+            columns[p] = answers.column(p);
+
+        scoreRange(guessLetters, columns, 0, answers.size(), codes, offset);
+    }
+
+    /**
+     * Scores the answers with index in <code>[from, to)</code>. Also used for the
+     * remaining answers that do not fill a whole vector in
+     * {@link VectorFeedbackScorer}.
+     */
+    static void scoreRange(byte[] guessLetters, byte[][] columns, int from, int to, byte[] codes, int offset) {
+        int wordLength = guessLetters.length;
+        int[] letterCounts = new int[26];
+        for (int w = from; w < to; w++) {
+            // First pass: greens, and count the unmatched answer letters
+            int greens = 0;
+            for (int p = 0; p < wordLength; p++) {
+                byte answerLetter = columns[p][w];
+                if (answerLetter == guessLetters[p])
+                    greens |= 1 << p;
+                else
+                    letterCounts[answerLetter]++;
+            }
+
+            // Second pass: yellows use up the unmatched letters from left to right
+            int code = 0;
+            int weight = 1;
+            for (int p = 0; p < wordLength; p++, weight *= 3) {
+                if ((greens & (1 << p)) != 0) {
+                    code += 2 * weight;
+                } else if (letterCounts[guessLetters[p]] > 0) {
+                    letterCounts[guessLetters[p]]--;
+                    code += weight;
+                }
+            }
+
+            for (int p = 0; p < wordLength; p++)
+                letterCounts[columns[p][w]] = 0;
+            codes[offset + w] = (byte) code;
+        }
+    }
+
+    static int checkArguments(String guess, WordColumns answers) {
+        int wordLength = guess.length();
+        if (answers.size() > 0 && answers.wordLength() != wordLength)
+            throw new IllegalArgumentException("Guess and answers must have same number of letters");
+        if (!PatternTable.supports(wordLength))
+            throw new IllegalArgumentException("Feedback codes of " + wordLength + " letter words do not fit in a byte");
+        return wordLength;
+    }
+}
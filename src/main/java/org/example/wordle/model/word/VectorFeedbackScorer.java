@@ -0,0 +1,118 @@
+package org.example.wordle.model.word;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Computes feedback codes for many answers at once using the Vector API
+ * (<code>jdk.incubator.vector</code>). Each vector lane holds one answer, so a
+ * whole vector of answers is scored with a fixed number of compare and add
+ * instructions.
+ * <br>
+ * </br>
+ * A guess letter that is not green is yellow if the answer has more unmatched
+ * copies of that letter than there are non-green copies of the letter earlier
+ * in the guess. This gives the same duplicate letter handling as
+ * {@link WordleAnswer#matchCode(String, String)} without any per answer
+ * counters.
+ * <br>
+ * </br>
+ * Only 5 letter words are vectorized. Other word lengths, and the answers that
+ * do not fill a whole vector, are scored by {@link ScalarFeedbackScorer}.
+ */
+public class VectorFeedbackScorer implements FeedbackScorer {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public void score(String guess, WordColumns answers, byte[] codes, int offset) {
+        int wordLength = ScalarFeedbackScorer.checkArguments(guess, answers);
+        int size = answers.size();
+        if (size == 0)
+            return;
+        byte[] g = new byte[wordLength];
+        for (int p = 0; p < wordLength; p++)
+            g[p] = WordColumns.letterIndex(guess.charAt(p));
+        byte[][] columns = new byte[wordLength][];
+        for (int p = 0; p < wordLength; p++)
+            columns[p] = answers.column(p);
+
+        int vectorized = 0;
+        if (wordLength == 5) {
+            vectorized = SPECIES.loopBound(size);
+            scoreFiveLetters(g, columns, vectorized, codes, offset);
+        }
+        ScalarFeedbackScorer.scoreRange(g, columns, vectorized, size, codes, offset);
+    }
+
+    private static void scoreFiveLetters(byte[] g, byte[][] columns, int upperBound, byte[] codes, int offset) {
+        byte[] c0 = columns[0], c1 = columns[1], c2 = columns[2], c3 = columns[3], c4 = columns[4];
+        for (int i = 0; i < upperBound; i += SPECIES.length()) {
+            ByteVector a0 = ByteVector.fromArray(SPECIES, c0, i);
+            ByteVector a1 = ByteVector.fromArray(SPECIES, c1, i);
+            ByteVector a2 = ByteVector.fromArray(SPECIES, c2, i);
+            ByteVector a3 = ByteVector.fromArray(SPECIES, c3, i);
+            ByteVector a4 = ByteVector.fromArray(SPECIES, c4, i);
+
+            VectorMask<Byte> e0 = a0.eq(g[0]);
+            VectorMask<Byte> e1 = a1.eq(g[1]);
+            VectorMask<Byte> e2 = a2.eq(g[2]);
+            VectorMask<Byte> e3 = a3.eq(g[3]);
+            VectorMask<Byte> e4 = a4.eq(g[4]);
+
+            // Codes above 127 wrap around in a signed byte, but the low 8 bits are right
+            ByteVector code = ByteVector.zero(SPECIES)
+                    .add((byte) 2, e0)
+                    .add((byte) 6, e1)
+                    .add((byte) 18, e2)
+                    .add((byte) 54, e3)
+                    .add((byte) 162, e4)
+                    .add((byte) 1, misplaced(0, g, a0, a1, a2, a3, a4, e0, e1, e2, e3, e4))
+                    .add((byte) 3, misplaced(1, g, a0, a1, a2, a3, a4, e0, e1, e2, e3, e4))
+                    .add((byte) 9, misplaced(2, g, a0, a1, a2, a3, a4, e0, e1, e2, e3, e4))
+                    .add((byte) 27, misplaced(3, g, a0, a1, a2, a3, a4, e0, e1, e2, e3, e4))
+                    .add((byte) 81, misplaced(4, g, a0, a1, a2, a3, a4, e0, e1, e2, e3, e4));
+            code.intoArray(codes, offset + i);
+        }
+    }
+
+    /**
+     * Gets the lanes where the guess letter at <code>position</code> is yellow.
+     */
+    private static VectorMask<Byte> misplaced(int position, byte[] g,
+            ByteVector a0, ByteVector a1, ByteVector a2, ByteVector a3, ByteVector a4,
+            VectorMask<Byte> e0, VectorMask<Byte> e1, VectorMask<Byte> e2, VectorMask<Byte> e3,
+            VectorMask<Byte> e4) {
+        byte letter = g[position];
+
+        // Copies of the letter in the answer that are not matched by a green
+        ByteVector unmatched = ByteVector.zero(SPECIES)
+                .add((byte) 1, a0.eq(letter).andNot(e0))
+                .add((byte) 1, a1.eq(letter).andNot(e1))
+                .add((byte) 1, a2.eq(letter).andNot(e2))
+                .add((byte) 1, a3.eq(letter).andNot(e3))
+                .add((byte) 1, a4.eq(letter).andNot(e4));
+
+        // Non-green copies of the letter earlier in the guess use up unmatched copies first
+        ByteVector usedBefore = ByteVector.zero(SPECIES);
+        if (position > 0 && g[0] == letter)
+            usedBefore = usedBefore.add((byte) 1, e0.not());
+        if (position > 1 && g[1] == letter)
+            usedBefore = usedBefore.add((byte) 1, e1.not());
+        if (position > 2 && g[2] == letter)
+            usedBefore = usedBefore.add((byte) 1, e2.not());
+        if (position > 3 && g[3] == letter)
+            usedBefore = usedBefore.add((byte) 1, e3.not());
+
+        VectorMask<Byte> green = switch (position) {
+            case 0 -> e0;
+            case 1 -> e1;
+            case 2 -> e2;
+            case 3 -> e3;
+            default -> e4;
+        };
+        return unmatched.compare(VectorOperators.GT, usedBefore).andNot(green);
+    }
+}
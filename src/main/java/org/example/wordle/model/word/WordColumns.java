@@ -0,0 +1,63 @@
+package org.example.wordle.model.word;
+
+import java.util.List;
+
+/**
+ * A list of words stored column by column: one array per letter position
+ * holding the letter index (0 for 'a' to 25 for 'z') of every word at that
+ * position. This layout lets a {@link FeedbackScorer} compare one position of
+ * many words at once.
+ */
+public class WordColumns {
+
+    private final byte[][] columns;
+    private final int size;
+
+    /**
+     * Creates the columns of the given words. All words must have the same
+     * length and only contain the letters a-z.
+     *
+     * @param words
+     */
+    public WordColumns(List<String> words) {
+        this.size = words.size();
+        int wordLength = words.isEmpty() ? 0 : words.get(0).length();
+        this.columns = new byte[wordLength][size];
+        for (int w = 0; w < size; w++) {
+            String word = words.get(w);
+            if (word.length() != wordLength)
+                throw new IllegalArgumentException("All words must have same length");
+            for (int p = 0; p < wordLength; p++)
+                columns[p][w] = letterIndex(word.charAt(p));
+        }
+    }
+
+    static byte letterIndex(char c) {
+        int index = c - 'a';
+        if (index < 0 || index >= 26)
+            throw new IllegalArgumentException("Words can only contain the letters a-z, but got '" + c + "'");
+        return (byte) index;
+    }
+
+    /**
+     * @param position
+     * @return the letter indices of all words at the given position
+     */
+    byte[] column(int position) {
+        return columns[position];
+    }
+
+    /**
+     * @return the number of words
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the length of the words, or 0 if there are no words
+     */
+    public int wordLength() {
+        return columns.length;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.wordle.model.word;
+
+/**
+ * Facts about every word of a dictionary that the solvers ask for over and
+ * over, computed once: which letters a word contains, whether it repeats a
+ * letter, and how many times it contains each letter.
+ * <br>
+ * </br>
+ * The letter counts of a word are packed into a <code>long</code> with 2 bits
+ * per letter, so a count of 3 means "3 or more". Such words are rare, and
+ * {@link #count(int, int)} counts their letters again.
+ */
+public class WordFeatures {
+
+    private static final int COUNT_BITS = 2;
+    private static final int MAX_PACKED = (1 << COUNT_BITS) - 1;
+
+    private final byte[] letters;
+    private final int wordLength;
+    private final int[] letterMasks;
+    private final long[] letterCounts;
+    private final boolean[] duplicates;
+
+    /**
+     * Computes the features of every word, indexed by word ID.
+     *
+     * @param letters    the letters of all words, word after word, 0 for 'a' to
+     *                   25 for 'z'; the array is kept, not copied
+     * @param wordLength the number of letters in each word
+     */
+    public WordFeatures(byte[] letters, int wordLength) {
+        this.letters = letters;
+        this.wordLength = wordLength;
+        int wordCount = letters.length / wordLength;
+        this.letterMasks = new int[wordCount];
+        this.letterCounts = new long[wordCount];
+        this.duplicates = new boolean[wordCount];
+        for (int wordId = 0; wordId < wordCount; wordId++) {
+            int mask = 0;
+            long counts = 0;
+            for (int p = 0; p < wordLength; p++) {
+                int letter = letters[wordId * wordLength + p];
+                int shift = letter * COUNT_BITS;
+                if ((counts >>> shift & MAX_PACKED) < MAX_PACKED)
+                    counts += 1L << shift;
+                mask |= 1 << letter;
+            }
+            letterMasks[wordId] = mask;
+            letterCounts[wordId] = counts;
+            duplicates[wordId] = Integer.bitCount(mask) != wordLength;
+        }
+    }
+
+    /**
+     * @param wordId
+     * @return the letters of the word as a mask, bit 0 for 'a' to bit 25 for 'z'
+     */
+    public int letterMask(int wordId) {
+        return letterMasks[wordId];
+    }
+
+    /**
+     * @param wordId
+     * @return true if the word contains some letter more than once
+     */
+    public boolean hasDuplicateLetters(int wordId) {
+        return duplicates[wordId];
+    }
+
+    /**
+     * @param wordId
+     * @return the letter counts of the word, 2 bits per letter starting with 'a'
+     *         in the lowest bits, saturating at 3
+     */
+    public long letterCounts(int wordId) {
+        return letterCounts[wordId];
+    }
+
+    /**
+     * @param wordId
+     * @param letter 0 for 'a' to 25 for 'z'
+     * @return the number of times the word contains the letter
+     */
+    public int count(int wordId, int letter) {
+        int count = (int) (letterCounts[wordId] >>> letter * COUNT_BITS) & MAX_PACKED;
+        if (count < MAX_PACKED)
+            return count;
+        count = 0;
+        for (int p = 0; p < wordLength; p++) {
+            if (letters[wordId * wordLength + p] == letter)
+                count++;
+        }
+        return count;
+    }
+}
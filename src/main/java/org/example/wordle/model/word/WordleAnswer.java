@@ -20,6 +20,16 @@ public class WordleAnswer {
 
     private static Random random = new Random();
 
+    /**
+     * The hints given so far if hard mode is on, otherwise null.
+     */
+    private HardModeRule hardModeRule;
+
+    /**
+     * Scratch letter counters used by {@link #matchCode(String, String)}.
+     */
+    private static final ThreadLocal<int[]> LETTER_COUNTS = ThreadLocal.withInitial(() -> new int[26]);
+
     /**
      * Creates a WordleAnswer object with a random word from the answer word list
      */
@@ -65,18 +75,47 @@ public class WordleAnswer {
      * not in the answer word.
      * This is done by updating the AnswerType of each WordleCharacter of the
      * WordleWord.
+     * In hard mode the guess must also use all hints given so far, see
+     * {@link HardModeRule}.
      * 
      * @param wordGuess
      * @return wordleWord with updated answertype for each character.
+     * @throws IllegalArgumentException if the guess is not legal, or breaks the
+     *                                  hard mode rule
      */
     public WordleWord makeGuess(String wordGuess) {
         if (!wordleDictionary.isLegalGuess(wordGuess))
             throw new IllegalArgumentException("The word '" + wordGuess + "' is not a legal guess");
 
-        WordleWord guessFeedback = matchWord(wordGuess, WORD);
+        String guess = wordGuess.toLowerCase();
+        if (hardModeRule != null)
+            hardModeRule.check(guess);
+        WordleWord guessFeedback = matchWord(guess, WORD);
+        if (hardModeRule != null)
+            hardModeRule.addFeedback(guessFeedback);
         return guessFeedback;
     }
 
+    /**
+     * Turns hard mode on or off. Turning it on starts with no hints, so it should
+     * be done before the first guess.
+     * 
+     * @param hardMode
+     */
+    public void setHardMode(boolean hardMode) {
+        if (!hardMode)
+            hardModeRule = null;
+        else if (hardModeRule == null)
+            hardModeRule = new HardModeRule(wordleDictionary);
+    }
+
+    /**
+     * @return true if guesses must use all hints given so far
+     */
+    public boolean isHardMode() {
+        return hardModeRule != null;
+    }
+
     /**
      * Generates a WordleWord showing the match between <code>guess</code> and
      * <code>answer</code>
@@ -86,41 +125,143 @@ public class WordleAnswer {
      * @return
      */
     public static WordleWord matchWord(String guess, String answer) {
+        return WordleWord.fromFeedbackCode(guess, matchCode(guess, answer));
+    }
+
+    /**
+     * Computes the feedback of <code>guess</code> against <code>answer</code> as
+     * a packed base-3 code. Position <code>i</code> contributes
+     * <code>digit * 3^i</code> where the digit is 0 for WRONG, 1 for MISPLACED
+     * and 2 for CORRECT, so a 5 letter word gives a code between 0 and 242.
+     * <br>
+     * </br>
+     * No objects are created for words of the letters a-z, which makes this the
+     * method to use in hot loops. Other words are matched character by
+     * character, so for example upper-case letters never match lower-case ones.
+     * 
+     * @param guess
+     * @param answer
+     * @return the feedback code
+     */
+    public static int matchCode(String guess, String answer) {
+        return matchCode(guess, answer, LETTER_COUNTS.get());
+    }
+
+    /**
+     * Same as {@link #matchCode(String, String)}, but uses the given
+     * <code>letterCounts</code> array of length 26 as scratch space. The array
+     * must be all zeros when passed in, and is all zeros again on return.
+     * 
+     * @param guess
+     * @param answer
+     * @param letterCounts scratch counters, one for each letter a-z
+     * @return the feedback code
+     */
+    public static int matchCode(String guess, String answer, int[] letterCounts) {
         int wordLength = answer.length();
         if (guess.length() != wordLength) {
             throw new IllegalArgumentException("Guess and answer must have same number of letters but guess = "
                     + guess + " and answer = " + answer);
         }
+        // Checked before the counters are touched, so they are never left dirty
+        if (!isLowerCaseWord(guess) || !isLowerCaseWord(answer))
+            return matchCodeOfAnyCharacters(guess, answer);
 
-        AnswerType[] feedback = new AnswerType[wordLength];
-        Map<Character, Integer> map = new HashMap<>();
-
-        // First pass: Identify correct (green) letters and build the frequency map
+        // First pass: Identify correct (green) letters and count the unmatched answer letters
+        int greens = 0;
         for (int i = 0; i < wordLength; i++) {
-            char guessChar = guess.charAt(i);
             char answerChar = answer.charAt(i);
-            map.put(answerChar, map.getOrDefault(answerChar, 0) + 1);
-            if (guessChar == answerChar) {
-                feedback[i] = AnswerType.CORRECT;
-                map.put(guessChar, map.get(guessChar) - 1);
-            }
+            if (guess.charAt(i) == answerChar)
+                greens |= 1 << i;
+            else
+                letterCounts[answerChar - 'a']++;
         }
 
         // Second pass: Identify misplaced (yellow) and wrong (grey) letters
-        for (int i = 0; i < wordLength; i++) {
-            char guessChar = guess.charAt(i);
-            if (feedback[i] == AnswerType.CORRECT) {
+        int code = 0;
+        int weight = 1;
+        for (int i = 0; i < wordLength; i++, weight *= 3) {
+            if ((greens & (1 << i)) != 0) {
+                code += 2 * weight;
                 continue;
             }
-            if (map.getOrDefault(guessChar, 0) > 0) {
-                feedback[i] = AnswerType.MISPLACED;
-                map.put(guessChar, map.get(guessChar) - 1);
-            } else {
-                feedback[i] = AnswerType.WRONG;
+            int letter = guess.charAt(i) - 'a';
+            if (letterCounts[letter] > 0) {
+                letterCounts[letter]--;
+                code += weight;
             }
         }
 
-        // Construct and return the WordleWord object with the guess and its feedback
-        return new WordleWord(guess, feedback);
+        // Leave the counters cleared for the next call
+        for (int i = 0; i < wordLength; i++) {
+            if ((greens & (1 << i)) == 0)
+                letterCounts[answer.charAt(i) - 'a'] = 0;
+        }
+        return code;
+    }
+
+    /**
+     * Returns the number of different feedback codes for words of the given
+     * length, that is <code>3^wordLength</code>.
+     * 
+     * @param wordLength
+     * @return number of feedback codes
+     */
+    public static int patternCount(int wordLength) {
+        int count = 1;
+        for (int i = 0; i < wordLength; i++)
+            count *= 3;
+        return count;
+    }
+
+    /**
+     * Returns the feedback code where every letter is CORRECT.
+     * 
+     * @param wordLength
+     * @return the winning feedback code
+     */
+    public static int allCorrectCode(int wordLength) {
+        return patternCount(wordLength) - 1;
+    }
+
+    /**
+     * Checks if the word only contains the letters a-z.
+     *
+     * @param word
+     * @return true if every character is between 'a' and 'z'
+     */
+    static boolean isLowerCaseWord(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Computes the feedback code of words with characters outside a-z, counting
+     * the unmatched answer characters in a map instead of an array.
+     */
+    private static int matchCodeOfAnyCharacters(String guess, String answer) {
+        int wordLength = answer.length();
+        Map<Character, Integer> unmatched = new HashMap<>();
+        for (int i = 0; i < wordLength; i++) {
+            if (guess.charAt(i) != answer.charAt(i))
+                unmatched.merge(answer.charAt(i), 1, Integer::sum);
+        }
+
+        int code = 0;
+        int weight = 1;
+        for (int i = 0; i < wordLength; i++, weight *= 3) {
+            char guessChar = guess.charAt(i);
+            if (guessChar == answer.charAt(i)) {
+                code += 2 * weight;
+            } else if (unmatched.getOrDefault(guessChar, 0) > 0) {
+                unmatched.merge(guessChar, -1, Integer::sum);
+                code += weight;
+            }
+        }
+        return code;
     }
 }
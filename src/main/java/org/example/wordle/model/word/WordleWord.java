@@ -14,6 +14,19 @@ public class WordleWord implements Iterable<WordleCharacter> {
 
     private List<WordleCharacter> word;
 
+    private final String wordString;
+
+    /**
+     * The feedback packed as a base-3 code, see
+     * {@link WordleAnswer#matchCode(String, String)}.
+     */
+    private final int feedbackCode;
+
+    /**
+     * The compiled feedback, created the first time it is needed.
+     */
+    private FeedbackConstraint constraint;
+
     /**
      * Creates a WordleWord by matching the characters in the given string to the
      * given AnswerType array.
@@ -34,11 +47,55 @@ public class WordleWord implements Iterable<WordleCharacter> {
         }
 
         this.word = new ArrayList<>();
-        for (int i = 0; i < word.length(); i++) {
+        int code = 0;
+        int weight = 1;
+        for (int i = 0; i < word.length(); i++, weight *= 3) {
             char c = word.charAt(i);
             WordleCharacter wordleChar = new WordleCharacter(c, feedback[i]);
             this.word.add(wordleChar);
+            code += codeDigit(feedback[i]) * weight;
+        }
+        this.feedbackCode = code;
+        this.wordString = word;
+    }
+
+    /**
+     * Creates a WordleWord from a packed feedback code as returned by
+     * {@link WordleAnswer#matchCode(String, String)}.
+     * 
+     * @param word
+     * @param feedbackCode
+     * @return the WordleWord with the decoded feedback
+     */
+    public static WordleWord fromFeedbackCode(String word, int feedbackCode) {
+        AnswerType[] feedback = new AnswerType[word.length()];
+        int code = feedbackCode;
+        for (int i = 0; i < feedback.length; i++) {
+            feedback[i] = switch (code % 3) {
+                case 2 -> AnswerType.CORRECT;
+                case 1 -> AnswerType.MISPLACED;
+                default -> AnswerType.WRONG;
+            };
+            code /= 3;
         }
+        return new WordleWord(word, feedback);
+    }
+
+    private static int codeDigit(AnswerType type) {
+        return switch (type) {
+            case CORRECT -> 2;
+            case MISPLACED -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Returns the feedback of this WordleWord as a packed base-3 code.
+     * 
+     * @return the feedback code
+     */
+    public int getFeedbackCode() {
+        return feedbackCode;
     }
 
     /**
@@ -69,17 +126,25 @@ public class WordleWord implements Iterable<WordleCharacter> {
         return false;
     }
 
+    /**
+     * Returns the feedback of this WordleWord compiled to a
+     * {@link FeedbackConstraint}.
+     * 
+     * @return the constraint
+     */
+    public FeedbackConstraint getConstraint() {
+        if (constraint == null)
+            constraint = FeedbackConstraint.compile(this);
+        return constraint;
+    }
+
     /**
      * Returns the WordleWord as a String without AnswerType.
      * 
      * @return
      */
     public String getWordString() {
-        StringBuilder sb = new StringBuilder();
-        for (WordleCharacter wordleChar : word) {
-            sb.append(wordleChar.letter);
-        }
-        return sb.toString();
+        return wordString;
     }
 
     /**
@@ -122,8 +187,7 @@ public class WordleWord implements Iterable<WordleCharacter> {
      * @return true if the word adheres to the feedback
      */
     public static boolean isPossibleWord(String word, WordleWord feedback) {
-        WordleWord otherFeedback = WordleAnswer.matchWord(feedback.getWordString(), word);
-        return otherFeedback.equals(feedback);
+        return feedback.getConstraint().matches(word);
     }
 
     @Override
@@ -1,8 +1,8 @@
 package org.example.wordle.model.word;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.ShortlistSelector;
 
 /**
  * This class describes a structure of two lists for a game of Wordle: The list
@@ -18,11 +18,36 @@ public class WordleWordList {
 
 
 	/**
-	 * A subset of <code>allWords</code>. <br>
+	 * A subset of <code>allWords</code>, stored as a set of answer IDs. <br>
 	 * </br>
 	 * These words can be the answer to a wordle game.
 	 */
-	private List<String> possibleAnswers;
+	private CandidateSet possibleAnswers;
+
+	/**
+	 * The answer IDs in the order they were given to
+	 * {@link #setPossibleAnswers(List)}, or null if the possible answers are
+	 * listed in answer ID order.
+	 */
+	private int[] answerOrder;
+
+	/**
+	 * The possible answers listed in <code>answerOrder</code>, or null if they
+	 * have not been listed since the list last changed.
+	 */
+	private int[] orderedAnswers;
+
+	/**
+	 * <code>possibleAnswers</code> stored column by column, or null if it has not
+	 * been created since the list last changed.
+	 */
+	private WordColumns possibleAnswerColumns;
+
+	/**
+	 * The guess words that use all hints so far if hard mode is on, otherwise
+	 * null.
+	 */
+	private HardModeRule hardModeRule;
 
 	/**
 	 * Create a WordleWordList that uses the full words and limited answers of the
@@ -30,10 +55,93 @@ public class WordleWordList {
 	 */
 	public WordleWordList(WordleDictionary wordleDictionary) {
 		this.allWords = wordleDictionary;
-		this.possibleAnswers = new ArrayList<>(wordleDictionary.getAnswerWordsList());
+		this.possibleAnswers = CandidateSet.all(wordleDictionary.answerCount());
+		possibleAnswers.trackLetterFrequencies(LetterFrequencies.forAnswers(allWords, possibleAnswers));
+	}
+
+	private WordleWordList(WordleWordList other) {
+		this.allWords = other.allWords;
+		this.possibleAnswers = other.possibleAnswers.copy();
+		this.answerOrder = other.answerOrder;
+		this.orderedAnswers = other.orderedAnswers;
+		this.hardModeRule = other.hardModeRule == null ? null : other.hardModeRule.copy();
+	}
+
+	/**
+	 * Copies this list, so that the copy and the original can be given different
+	 * feedback.
+	 *
+	 * @return a copy of this list, with the same possible answers and hard mode
+	 *         hints
+	 */
+	public WordleWordList copy() {
+		return new WordleWordList(this);
 	}
+
+	/**
+	 * Replaces the possible answers with the given words, which must all be
+	 * answer words of the dictionary. The possible answers are listed in the
+	 * given order from now on, and ties between guesses are broken in that
+	 * order. A word given more than once is only kept the first time.
+	 *
+	 * @param newPossibleAnswers
+	 */
 	public void setPossibleAnswers(List<String> newPossibleAnswers) {
-		this.possibleAnswers = newPossibleAnswers;
+		CandidateSet answers = new CandidateSet(allWords.answerCount());
+		int[] order = new int[newPossibleAnswers.size()];
+		int n = 0;
+		for (String word : newPossibleAnswers) {
+			int answerId = answerIdOf(word);
+			if (answerId < 0)
+				throw new IllegalArgumentException("'" + word + "' is not an answer word");
+			if (!answers.contains(answerId)) {
+				answers.add(answerId);
+				order[n++] = answerId;
+			}
+		}
+		answers.trackLetterFrequencies(LetterFrequencies.forAnswers(allWords, answers));
+		this.possibleAnswers = answers;
+		this.answerOrder = Arrays.copyOf(order, n);
+		changed();
+	}
+
+	/**
+	 * Drops everything computed from the possible answers, after they changed.
+	 */
+	private void changed() {
+		possibleAnswerColumns = null;
+		orderedAnswers = null;
+	}
+
+	/**
+	 * Lists the answer IDs of the possible answers, in the order given to
+	 * {@link #setPossibleAnswers(List)} if it was called, otherwise in increasing
+	 * order. The array must not be modified.
+	 */
+	private int[] members() {
+		if (answerOrder == null)
+			return possibleAnswers.members();
+		if (orderedAnswers == null) {
+			int[] list = new int[possibleAnswers.size()];
+			int n = 0;
+			for (int answerId : answerOrder) {
+				if (possibleAnswers.contains(answerId))
+					list[n++] = answerId;
+			}
+			orderedAnswers = list;
+		}
+		return orderedAnswers;
+	}
+
+	private int answerIdOf(String word) {
+		int wordId = allWords.getWordId(word);
+		return wordId < 0 ? -1 : allWords.getAnswerId(wordId);
+	}
+
+	private WordColumns possibleAnswerColumns() {
+		if (possibleAnswerColumns == null)
+			possibleAnswerColumns = new WordColumns(possibleAnswers());
+		return possibleAnswerColumns;
 	}
 
 	/**
@@ -51,10 +159,27 @@ public class WordleWordList {
 	 * @return
 	 */
 	public List<String> possibleAnswers() {
-		return Collections.unmodifiableList(possibleAnswers);
-	}
+		return new AbstractList<>() {
+			@Override
+			public String get(int index) {
+				return allWords.getAnswer(members()[index]);
+			}
 
+			@Override
+			public int size() {
+				return possibleAnswers.size();
+			}
+		};
+	}
 
+	/**
+	 * Returns the answer IDs of the possible answers.
+	 * 
+	 * @return a copy of the possible answer IDs
+	 */
+	public int[] possibleAnswerIds() {
+		return members().clone();
+	}
 
 	/**
 	 * Eliminates words from the possible answers list using the given
@@ -63,13 +188,45 @@ public class WordleWordList {
 	 * @param feedback
 	 */
 	public void eliminateWords(WordleWord feedback) {
-		// TODO: Implement me :)
-		for(int i = possibleAnswers.size() - 1; i >= 0; i--) {
-			if(!WordleWord.isPossibleWord(possibleAnswers.get(i), feedback)){
-				possibleAnswers.remove(i);
-			}
-		}
+		possibleAnswers.apply(feedback.getConstraint(), allWords.getAnswerPostings());
+		changed();
+		if (hardModeRule != null)
+			hardModeRule.addFeedback(feedback);
+	}
+
+	/**
+	 * Turns hard mode on or off. In hard mode the list also keeps track of which
+	 * guess words use all hints of the feedback given to
+	 * {@link #eliminateWords(WordleWord)}, and only those are suggested as
+	 * guesses. Turning it on starts with no hints, so it should be done before
+	 * any feedback is given.
+	 *
+	 * @param hardMode
+	 */
+	public void setHardMode(boolean hardMode) {
+		if (!hardMode)
+			hardModeRule = null;
+		else if (hardModeRule == null)
+			hardModeRule = new HardModeRule(allWords);
 	}
+
+	/**
+	 * @return true if only guesses that use all hints are suggested
+	 */
+	public boolean isHardMode() {
+		return hardModeRule != null;
+	}
+
+	/**
+	 * Returns the guess words that may be guessed next, as a set of word IDs. The
+	 * set must not be modified.
+	 *
+	 * @return the allowed guess words, or null if every guess word is allowed
+	 */
+	public CandidateSet allowedGuesses() {
+		return hardModeRule == null ? null : hardModeRule.allowedGuesses();
+	}
+
 	/**
 	 * Calculates the frequency of each letter at each position in a list of words.
 	 *
@@ -179,6 +336,93 @@ public class WordleWordList {
 
 
 
+	/**
+	 * Calculates the frequency of each letter at each position among the possible
+	 * answers.
+	 *
+	 * @return <code>frequencies[position][letter]</code> where letter is 0 for 'a'
+	 *         to 25 for 'z'.
+	 */
+	public int[][] calculateLetterFrequencies() {
+		int[][] letterFrequencies = letterFrequencies();
+		int[][] copy = new int[letterFrequencies.length][];
+		for (int p = 0; p < letterFrequencies.length; p++)
+			copy[p] = letterFrequencies[p].clone();
+		return copy;
+	}
+
+	/**
+	 * Gets the frequency of each letter at each position among the possible
+	 * answers. The table is kept up to date as words are eliminated, by
+	 * subtracting the letters of each eliminated word, so this costs nothing.
+	 *
+	 * @return <code>frequencies[position][letter]</code> where letter is 0 for 'a'
+	 *         to 25 for 'z'. The table changes with the list and must not be
+	 *         modified.
+	 */
+	public int[][] letterFrequencies() {
+		return possibleAnswers.letterFrequencies().table();
+	}
+
+	/**
+	 * Finds the possible answer with the highest frequency-based score.
+	 *
+	 * @param letterFrequencies as given by {@link #letterFrequencies()}
+	 * @return the word ID of the best word, or -1 if there are no possible answers
+	 */
+	public int calculateGuessBasedOnFrequency(int[][] letterFrequencies) {
+		int bestWord = -1;
+		int bestScore = -1;
+		for (int answerId : members()) {
+			int wordId = allWords.getAnswerWordId(answerId);
+			int score = calculateWordScore(wordId, letterFrequencies);
+			if (score > bestScore) {
+				bestScore = score;
+				bestWord = wordId;
+			}
+		}
+		return bestWord;
+	}
+
+	/**
+	 * Calculates the score for the word with the given ID based on letter
+	 * frequencies at each position.
+	 *
+	 * @param wordId
+	 * @param letterFrequencies as given by {@link #letterFrequencies()}
+	 * @return the total score for the word
+	 */
+	public int calculateWordScore(int wordId, int[][] letterFrequencies) {
+		int score = 0;
+		for (int p = 0; p < letterFrequencies.length; p++)
+			score += letterFrequencies[p][allWords.letterAt(wordId, p)];
+		return score;
+	}
+
+	/**
+	 * Calculates the best first guess among the possible answers based on letter
+	 * frequencies. Words without duplicate letters are given higher weight.
+	 *
+	 * @param letterFrequencies as given by {@link #letterFrequencies()}
+	 * @return the word ID of the best first guess, or -1 if there are no possible
+	 *         answers
+	 */
+	public int calculateFirstGuess(int[][] letterFrequencies) {
+		int bestWord = -1;
+		long bestScore = -1;
+		for (int answerId : members()) {
+			int wordId = allWords.getAnswerWordId(answerId);
+			long score = calculateWordScore(wordId, letterFrequencies);
+			if (!containsDuplicateLetters(wordId))
+				score *= 10;
+			if (score > bestScore) {
+				bestScore = score;
+				bestWord = wordId;
+			}
+		}
+		return bestWord;
+	}
+
 	/**
 	 * Calculates the entropy (uncertainty reduction) for a given guess in the context of a Wordle game.
 	 *
@@ -186,20 +430,42 @@ public class WordleWordList {
 	 * @return The entropy value for the guess.
 	 */
     public double calculateEntropy(String guess) {
-		// Map to store feedback counts for each type of feedback
-		Map<String, Integer> feedbackCounts = new ConcurrentHashMap<>();
+		int guessId = allWords.getWordId(guess);
+		if (guessId >= 0)
+			return calculateEntropy(guessId);
+
+		// Count how many possible answers give each feedback code
+		int[] feedbackCounts = new int[WordleAnswer.patternCount(guess.length())];
+		if (PatternTable.supports(guess.length())) {
+			// The guess is not in the table, so score it against all answers at once
+			for (byte code : FeedbackScorer.getDefault().score(guess, possibleAnswerColumns()))
+				feedbackCounts[code & 0xFF]++;
+		} else {
+			for (int answerId : members())
+				feedbackCounts[WordleAnswer.matchCode(guess, allWords.getAnswer(answerId))]++;
+		}
+		return entropy(feedbackCounts);
+	}
 
-		// Compute feedback for each possible answer in parallel and update counts
-		possibleAnswers.parallelStream().forEach(word -> {
-			String feedback = WordleAnswer.matchWord(word, guess).getAnswerTypeString();
-			feedbackCounts.merge(feedback, 1, Integer::sum);
-		});
+	/**
+	 * Calculates the entropy for the word with the given ID as guess.
+	 *
+	 * @param guessId The word ID of the guess.
+	 * @return The entropy value for the guess.
+	 */
+	public double calculateEntropy(int guessId) {
+		// A single guess may still be split across the candidates when there are many
+		return allWords.getEntropyEngine().entropies(new int[] { guessId }, members())[0];
+	}
 
+	private double entropy(int[] feedbackCounts) {
 		double entropy = 0.0;
 		int totalWords = possibleAnswers.size();
 
 		// Calculate entropy based on feedback counts
-		for (int count : feedbackCounts.values()) {
+		for (int count : feedbackCounts) {
+			if (count == 0)
+				continue;
 			double prob = (double) count / totalWords;
 			entropy -= prob * Math.log(prob) / Math.log(2);
 		}
@@ -214,20 +480,62 @@ public class WordleWordList {
 	 * @return The word with the highest entropy.
 	 */
 	public String bestGuessBasedOnEntropy() {
-		String bestWord = null;
-		double bestEntropy = -1;
+		int bestWord = bestGuessIdBasedOnEntropy();
+		return bestWord < 0 ? null : allWords.getWord(bestWord);
+	}
 
-		// Iterate through each possible answer to determine the one with the highest entropy
-		for (String word : possibleAnswers()) {
-			double entropy = calculateEntropy(word);
-			if (entropy > bestEntropy) {
-				bestEntropy = entropy;
-				bestWord = word;
-			}
+	/**
+	 * Finds the possible answer with the highest entropy.
+	 *
+	 * @return The word ID of the word with the highest entropy, or -1 if there are
+	 *         no possible answers.
+	 */
+	public int bestGuessIdBasedOnEntropy() {
+		int[] candidates = members();
+		int[] guessIds = new int[candidates.length];
+		for (int i = 0; i < candidates.length; i++)
+			guessIds[i] = allWords.getAnswerWordId(candidates[i]);
+
+		// Evaluates the possible answers, in parallel when it pays off, and picks the first with the highest entropy
+		return allWords.getEntropyEngine().bestGuess(guessIds, candidates);
+	}
+
+	/**
+	 * Finds the guess with the highest entropy among all legal guess words, not
+	 * just the possible answers. Possible answers are preferred on ties.
+	 *
+	 * @return The word ID of the best guess, or -1 if there are no possible
+	 *         answers.
+	 */
+	public int bestGuessIdFromAllWords() {
+		int[] candidates = members();
+		int[] inSetGuessIds = new int[candidates.length];
+		for (int i = 0; i < candidates.length; i++)
+			inSetGuessIds[i] = allWords.getAnswerWordId(candidates[i]);
+
+		int[] otherGuessIds = new int[allWords.guessCount()];
+		int others = 0;
+		CandidateSet allowed = allowedGuesses();
+		for (int wordId = 0; wordId < allWords.guessCount(); wordId++) {
+			int answerId = allWords.getAnswerId(wordId);
+			if ((answerId < 0 || !possibleAnswers.contains(answerId)) && (allowed == null || allowed.contains(wordId)))
+				otherGuessIds[others++] = wordId;
 		}
+		return allWords.getEntropyEngine().bestGuessWithBound(inSetGuessIds,
+				Arrays.copyOf(otherGuessIds, others), candidates);
+	}
 
-		// Return the word that has the highest entropy
-		return bestWord;
+	/**
+	 * Finds the guess with the highest entropy among a shortlist of the guess
+	 * words with the best letter coverage of the possible answers, see
+	 * {@link ShortlistSelector}.
+	 *
+	 * @param selector the selector holding the shortlist size
+	 * @return The word ID of the best guess, or -1 if there are no possible
+	 *         answers.
+	 */
+	public int bestGuessIdFromShortlist(ShortlistSelector selector) {
+		return selector.bestGuess(members(), letterFrequencies(), allowedGuesses());
 	}
 
 	/**
@@ -237,15 +545,26 @@ public class WordleWordList {
 	 * @return True if the word contains duplicate letters, false otherwise.
 	 */
     public Boolean containsDuplicateLetters(String word) {
-		Set<Character> wordSet = new HashSet<>();
+		int wordId = allWords.getWordId(word);
+		if (wordId >= 0)
+			return containsDuplicateLetters(wordId);
 
-		// Add each character to a set and check the size
-		for (Character c : word.toCharArray()) {
-			wordSet.add(c);
+		// Words outside the dictionary are short, so a plain scan does not allocate or cost much
+		for (int i = 0; i < word.length(); i++) {
+			if (word.indexOf(word.charAt(i), i + 1) >= 0)
+				return true;
 		}
+		return false;
+	}
 
-		// Return true if there are duplicate letters (set size differs from word length)
-		return wordSet.size() != word.length();
+	/**
+	 * Checks if the word with the given ID contains duplicate letters.
+	 *
+	 * @param wordId
+	 * @return True if the word contains duplicate letters, false otherwise.
+	 */
+	public boolean containsDuplicateLetters(int wordId) {
+		return allWords.getWordFeatures().hasDuplicateLetters(wordId);
 	}
 
 	/**
@@ -257,13 +576,25 @@ public class WordleWordList {
 		return possibleAnswers.size();
 	}
 
+	/**
+	 * Returns a fingerprint of the possible answers. Lists with the same possible
+	 * answers have the same fingerprint, however they were reached.
+	 *
+	 * @return the fingerprint, see {@link CandidateSet#fingerprint()}
+	 */
+	public long fingerprint() {
+		return possibleAnswers.fingerprint();
+	}
+
 	/**
 	 * Removes the given <code>answer</code> from the list of possible answers.
 	 *
 	 * @param answer
 	 */
 	public void remove(String answer) {
-		possibleAnswers.remove(answer);
+		int answerId = answerIdOf(answer);
+		if (answerId >= 0 && possibleAnswers.remove(answerId))
+			changed();
 	}
 
 	/**
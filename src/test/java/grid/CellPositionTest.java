@@ -1,5 +1,6 @@
 package grid;
 
+import org.example.grid.CellPosition;
 import org.junit.jupiter.api.Test;
 
 import java.util.Objects;
@@ -1,7 +1,7 @@
 package grid;
 
-import no.uib.inf102.grid.CellPosition;
-import no.uib.inf102.grid.GridCell;
+import org.example.grid.CellPosition;
+import org.example.grid.GridCell;
 import org.junit.jupiter.api.Test;
 
 import java.util.Objects;
@@ -1,9 +1,9 @@
 package grid;
 
-import no.uib.inf102.grid.CellPosition;
-import no.uib.inf102.grid.Grid;
-import no.uib.inf102.grid.GridCell;
-import no.uib.inf102.grid.IGrid;
+import org.example.grid.CellPosition;
+import org.example.grid.Grid;
+import org.example.grid.GridCell;
+import org.example.grid.IGrid;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -0,0 +1,25 @@
+package wordle.controller.AI;
+
+import org.example.wordle.controller.AI.AIPerformance;
+import org.example.wordle.controller.AI.AIStatistics;
+import org.example.wordle.controller.AI.FrequencyStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AIPerformanceTest {
+
+    @Test
+    public void threadsDoNotChangeTheResults() {
+        AIStatistics single = AIPerformance.runWordleGames(
+                () -> new FrequencyStrategy(AIPerformance.wordleDictionary), 1);
+        AIStatistics parallel = AIPerformance.runWordleGames(
+                () -> new FrequencyStrategy(AIPerformance.wordleDictionary), 4);
+
+        assertEquals(single.getNumGames(), parallel.getNumGames());
+        assertEquals(single.getDistribution(), parallel.getDistribution());
+        assertEquals(single.getTotalGuesses(), parallel.getTotalGuesses());
+        assertEquals(single.getFailures(), parallel.getFailures());
+        assertTrue(parallel.isDeterministic());
+    }
+}
@@ -1,8 +1,9 @@
 package wordle.controller.AI;
 
-import no.uib.inf102.wordle.model.Dictionary;
-import no.uib.inf102.wordle.model.word.WordleAnswer;
-import no.uib.inf102.wordle.model.word.WordleWord;
+import org.example.wordle.controller.AI.EliminateStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -12,7 +13,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EliminateStrategyTest {
 
-	private Dictionary dictionary = new Dictionary();
+	private WordleDictionary dictionary = new WordleDictionary();
 
 	@Test
 	void testComputeMakeGuess() {
@@ -0,0 +1,56 @@
+package wordle.controller.AI;
+
+import org.example.wordle.controller.AI.AIPerformance;
+import org.example.wordle.controller.AI.AIStatistics;
+import org.example.wordle.controller.AI.EliminateStrategy;
+import org.example.wordle.controller.AI.ExhaustiveEvaluator;
+import org.example.wordle.controller.AI.FrequencyStrategy;
+import org.example.wordle.controller.AI.IStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordleAnswer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExhaustiveEvaluatorTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void matchesPlayingEachAnswer() {
+        ExhaustiveEvaluator evaluator = new ExhaustiveEvaluator(dictionary, AIPerformance.MAX_N_GUESSES);
+        AIStatistics stats = evaluator.evaluate(new FrequencyStrategy(dictionary), "FrequencyStrategy", null);
+
+        IStrategy strategy = new FrequencyStrategy(dictionary);
+        int total = 0;
+        Map<Integer, Integer> distribution = new HashMap<>();
+        for (int answerId = 0; answerId < dictionary.answerCount(); answerId++) {
+            int guesses = AIPerformance.runWordleGame(strategy,
+                    new WordleAnswer(dictionary.getAnswer(answerId), dictionary));
+            total += guesses;
+            AIStatistics.increase(distribution, guesses);
+            strategy.reset();
+        }
+        assertEquals(dictionary.answerCount(), stats.getNumGames());
+        assertEquals(total, stats.getTotalGuesses());
+        assertEquals(distribution, stats.getDistribution());
+    }
+
+    @Test
+    public void sharesGuessesBetweenAnswers() {
+        ExhaustiveEvaluator evaluator = new ExhaustiveEvaluator(dictionary, AIPerformance.MAX_N_GUESSES);
+        AIStatistics stats = evaluator.evaluate(new FrequencyStrategy(dictionary), "FrequencyStrategy", null);
+        assertTrue(evaluator.getNodes() < stats.getTotalGuesses());
+    }
+
+    @Test
+    public void randomStrategiesCanNotBeCopied() {
+        IStrategy strategy = new EliminateStrategy(dictionary);
+        assertFalse(ExhaustiveEvaluator.supports(strategy));
+        ExhaustiveEvaluator evaluator = new ExhaustiveEvaluator(dictionary, AIPerformance.MAX_N_GUESSES);
+        assertThrows(IllegalArgumentException.class, () -> evaluator.evaluate(strategy, "EliminateStrategy", null));
+    }
+}
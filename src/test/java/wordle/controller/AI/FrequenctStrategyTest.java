@@ -1,17 +1,18 @@
 package wordle.controller.AI;
 
-import no.uib.inf102.wordle.model.Dictionary;
-import no.uib.inf102.wordle.model.word.AnswerType;
-import no.uib.inf102.wordle.model.word.WordleAnswer;
-import no.uib.inf102.wordle.model.word.WordleWord;
+import org.example.wordle.controller.AI.FrequencyStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.AnswerType;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
 import org.junit.jupiter.api.Test;
 
-import static no.uib.inf102.wordle.model.word.AnswerType.WRONG;
+import static org.example.wordle.model.word.AnswerType.WRONG;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FrequenctStrategyTest {
 
-	private Dictionary dictionary = new Dictionary();
+	private WordleDictionary dictionary = new WordleDictionary();
 
 	@Test
 	public void makeGuessBetterThanSaree() {
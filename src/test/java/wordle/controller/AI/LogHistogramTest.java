@@ -0,0 +1,71 @@
+package wordle.controller.AI;
+
+import org.example.wordle.controller.AI.AIStatistics;
+import org.example.wordle.controller.AI.LogHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogHistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        LogHistogram histogram = new LogHistogram();
+        for (int value = 0; value < 8; value++)
+            histogram.record(value);
+        assertEquals(8, histogram.getCount());
+        assertEquals(3, histogram.percentile(0.5));
+        assertEquals(7, histogram.percentile(1));
+        assertEquals(7, histogram.getMax());
+    }
+
+    @Test
+    public void percentilesAreWithinOneBucket() {
+        LogHistogram histogram = new LogHistogram();
+        for (int value = 1; value <= 100_000; value++)
+            histogram.record(value);
+        long median = histogram.percentile(0.5);
+        assertTrue(median >= 50_000 && median <= 50_000 * 9 / 8, "median " + median);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p99 >= 99_000 && p99 <= 100_000, "p99 " + p99);
+        assertEquals(100_000, histogram.getMax());
+    }
+
+    @Test
+    public void largeValuesAreRecorded() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.percentile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+    }
+
+    @Test
+    public void addMergesCounts() {
+        LogHistogram a = new LogHistogram();
+        LogHistogram b = new LogHistogram();
+        a.record(10);
+        b.record(1_000);
+        b.record(2_000);
+        a.add(b);
+        assertEquals(3, a.getCount());
+        assertEquals(2_000, a.getMax());
+        assertEquals(10, a.percentile(0.3));
+    }
+
+    @Test
+    public void statisticsKeepGuessesByTurn() {
+        AIStatistics stats = new AIStatistics("test");
+        stats.addGuess(1, 100, 64);
+        stats.addGuess(3, 5_000, -1);
+        AIStatistics other = new AIStatistics("test");
+        other.addGuess(1, 200, 32);
+        stats.addGuesses(other);
+
+        assertEquals(3, stats.getTurns());
+        assertEquals(2, stats.getLatencies(1).getCount());
+        assertEquals(200, stats.getLatencies(1).getMax());
+        assertEquals(0, stats.getLatencies(2).getCount());
+        assertEquals(1, stats.getLatencies(3).getCount());
+        assertEquals(0, stats.getAllocations(3).getCount());
+    }
+}
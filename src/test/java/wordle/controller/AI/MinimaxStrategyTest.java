@@ -0,0 +1,39 @@
+package wordle.controller.AI;
+
+import org.example.wordle.controller.AI.IStrategy;
+import org.example.wordle.controller.AI.MinimaxStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinimaxStrategyTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void strategyFindsTheAnswer() {
+        IStrategy strategy = new MinimaxStrategy(dictionary);
+        WordleAnswer answer = new WordleAnswer("cloud", dictionary);
+        WordleWord feedback = null;
+        for (int rounds = 0; rounds < 6; rounds++) {
+            feedback = answer.makeGuess(strategy.makeGuess(feedback));
+            if (feedback.allMatch())
+                return;
+        }
+        fail("The answer was not found within six guesses");
+    }
+
+    @Test
+    public void strategyFailsWhenNoAnswerFits() {
+        IStrategy strategy = new MinimaxStrategy(dictionary);
+        String guess = strategy.makeGuess(null);
+        strategy.makeGuess(WordleWord.fromFeedbackCode(guess, WordleAnswer.matchCode(guess, "cloud")));
+        // The first guess was not the answer, so it can not be correct now
+        WordleWord contradiction = WordleWord.fromFeedbackCode(guess,
+                WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH));
+        assertThrows(IllegalStateException.class, () -> strategy.makeGuess(contradiction));
+    }
+}
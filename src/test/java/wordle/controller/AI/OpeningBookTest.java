@@ -0,0 +1,129 @@
+package wordle.controller.AI;
+
+import org.example.util.CacheFiles;
+import org.example.wordle.controller.AI.OpeningBook;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+
+    private static final String POLICY_NAME = "test";
+    private static final int DEPTH = 3;
+
+    @TempDir
+    Path directory;
+
+    private String cacheDir;
+
+    private final WordleDictionary small = new WordleDictionary(
+            List.of("crane", "slate", "mommy", "fuzzy", "eerie", "geese", "abide", "caper"),
+            List.of("eerie", "crane", "abide", "geese", "slate", "caper"));
+    private final WordleDictionary other = new WordleDictionary(
+            List.of("stole", "caper", "llama", "tatty", "nanny", "speed", "weary", "crane"),
+            List.of("caper", "nanny", "weary", "stole", "speed", "llama"));
+
+    private final ToIntFunction<WordleWordList> policy = WordleWordList::bestGuessIdFromAllWords;
+    private final ToIntFunction<WordleWordList> unused = words -> {
+        throw new AssertionError("The book was built instead of read");
+    };
+
+    @BeforeEach
+    public void useTemporaryCache() {
+        cacheDir = System.getProperty("wordle.cacheDir");
+        System.setProperty("wordle.cacheDir", directory.toString());
+    }
+
+    @AfterEach
+    public void restoreCache() {
+        if (cacheDir == null)
+            System.clearProperty("wordle.cacheDir");
+        else
+            System.setProperty("wordle.cacheDir", cacheDir);
+    }
+
+    private static Path cacheFile(WordleDictionary dictionary) {
+        return CacheFiles.cacheFile("opening-" + dictionary.getChecksum() + "-" + POLICY_NAME + "-" + DEPTH + ".bin");
+    }
+
+    /**
+     * Plays every answer through the book and checks each move against the
+     * policy applied to the word list at that point.
+     */
+    private void assertMatchesPolicy(WordleDictionary dictionary, OpeningBook book) {
+        PatternTable patterns = dictionary.getPatternTable();
+        int winningCode = WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH);
+        assertEquals(policy.applyAsInt(new WordleWordList(dictionary)), book.opener());
+
+        for (int answerId = 0; answerId < dictionary.answerCount(); answerId++) {
+            WordleWordList words = new WordleWordList(dictionary);
+            int first = patterns.getPattern(book.opener(), answerId);
+            if (first == winningCode)
+                continue;
+            words.eliminateWords(WordleWord.fromFeedbackCode(dictionary.getWord(book.opener()), first));
+            int reply = book.reply(first);
+            assertEquals(policy.applyAsInt(words), reply, "reply to " + dictionary.getAnswer(answerId));
+
+            int second = patterns.getPattern(reply, answerId);
+            if (second == winningCode)
+                continue;
+            words.eliminateWords(WordleWord.fromFeedbackCode(dictionary.getWord(reply), second));
+            assertEquals(policy.applyAsInt(words), book.reply(first, second),
+                    "third move for " + dictionary.getAnswer(answerId));
+        }
+    }
+
+    @Test
+    public void cachedBookIsReadBack() {
+        OpeningBook built = OpeningBook.load(small, POLICY_NAME, DEPTH, policy, policy);
+        assertMatchesPolicy(small, built);
+        assertTrue(Files.isRegularFile(cacheFile(small)));
+
+        OpeningBook read = OpeningBook.load(small, POLICY_NAME, DEPTH, unused, unused);
+        assertEquals(built.depth(), read.depth());
+        assertEquals(built.opener(), read.opener());
+        int patternCount = WordleAnswer.patternCount(small.WORD_LENGTH);
+        for (int first = 0; first < patternCount; first++) {
+            assertEquals(built.reply(first), read.reply(first));
+            for (int second = 0; second < patternCount; second++)
+                assertEquals(built.reply(first, second), read.reply(first, second));
+        }
+    }
+
+    @Test
+    public void bookOfAnotherDictionaryIsIgnored() throws IOException {
+        // Both books have the same size, so only the checksum tells the files apart
+        OpeningBook.load(other, POLICY_NAME, DEPTH, policy, policy);
+        Files.copy(cacheFile(other), cacheFile(small), StandardCopyOption.REPLACE_EXISTING);
+
+        AtomicInteger calls = new AtomicInteger();
+        ToIntFunction<WordleWordList> counted = words -> {
+            calls.incrementAndGet();
+            return policy.applyAsInt(words);
+        };
+        OpeningBook book = OpeningBook.load(small, POLICY_NAME, DEPTH, counted, counted);
+        assertTrue(calls.get() > 0);
+        assertMatchesPolicy(small, book);
+    }
+
+    @Test
+    public void depthMustBeTwoOrThree() {
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.load(small, POLICY_NAME, 4, policy, policy));
+    }
+}
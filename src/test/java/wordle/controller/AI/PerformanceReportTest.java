@@ -0,0 +1,92 @@
+package wordle.controller.AI;
+
+import org.example.wordle.controller.AI.AIStatistics;
+import org.example.wordle.controller.AI.PerformanceReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceReportTest {
+
+    @TempDir
+    Path directory;
+
+    private static AIStatistics stats(int... games) {
+        AIStatistics stats = new AIStatistics("TestStrategy");
+        for (int guesses : games) {
+            stats.addGame(guesses);
+            for (int turn = 1; turn <= guesses; turn++)
+                stats.addGuess(turn, 1_000, 64);
+        }
+        return stats;
+    }
+
+    @Test
+    public void runMatchesItsOwnBaseline() throws IOException {
+        List<AIStatistics> results = List.of(stats(3, 4, 4));
+        Path baseline = directory.resolve("baseline.csv");
+        new PerformanceReport(results, 1, 3, false, 1).writeCsv(baseline);
+        assertEquals(0, new PerformanceReport(results, 1, 3, false, 1).compare(baseline, 0, 0));
+    }
+
+    @Test
+    public void moreGuessesRegress() throws IOException {
+        Path baseline = directory.resolve("baseline.csv");
+        new PerformanceReport(List.of(stats(3, 3, 3)), 1, 3, false, 1).writeCsv(baseline);
+        List<AIStatistics> results = List.of(stats(3, 3, 4));
+        PerformanceReport report = new PerformanceReport(results, 1, 3, false, 1);
+        assertEquals(1, report.compare(baseline, 0.01, 0.25));
+        assertEquals(0, report.compare(baseline, 0.5, 0.25));
+    }
+
+    @Test
+    public void guessesOfRandomStrategiesAreNotCompared() throws IOException {
+        Path baseline = directory.resolve("baseline.csv");
+        new PerformanceReport(List.of(stats(3, 3, 3)), 1, 3, false, 1).writeCsv(baseline);
+        AIStatistics random = stats(5, 6, 6);
+        random.failed();
+        random.setDeterministic(false);
+        assertEquals(0, new PerformanceReport(List.of(random), 1, 3, false, 1).compare(baseline, 0.01, 0.25));
+    }
+
+    @Test
+    public void otherRunSetupIsRefused() throws IOException {
+        List<AIStatistics> results = List.of(stats(3, 4, 4));
+        Path baseline = directory.resolve("baseline.csv");
+        new PerformanceReport(results, 1, 3, false, 1).writeCsv(baseline);
+        assertThrows(IllegalArgumentException.class,
+                () -> new PerformanceReport(results, 2, 3, false, 1).compare(baseline, 0.01, 0.25));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PerformanceReport(results, 1, 3, true, 1).compare(baseline, 0.01, 0.25));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PerformanceReport(results, 1, 3, false, 4).compare(baseline, 0.01, 0.25));
+    }
+
+    @Test
+    public void slowerGuessesRegress() throws IOException {
+        Path baseline = directory.resolve("baseline.csv");
+        new PerformanceReport(List.of(stats(3, 3)), 1, 2, false, 1).writeCsv(baseline);
+        AIStatistics slower = new AIStatistics("TestStrategy");
+        slower.addGame(3);
+        slower.addGame(3);
+        for (int guess = 0; guess < 6; guess++)
+            slower.addGuess(1 + guess % 3, 2_000, 64);
+        assertEquals(1, new PerformanceReport(List.of(slower), 1, 2, false, 1).compare(baseline, 0.01, 0.25));
+    }
+
+    @Test
+    public void jsonHoldsDistribution() throws IOException {
+        Path file = directory.resolve("report.json");
+        new PerformanceReport(List.of(stats(3, 4, 4)), 14212, 3, false, 1).writeJson(file);
+        String json = Files.readString(file);
+        assertTrue(json.contains("\"seed\": 14212"));
+        assertTrue(json.contains("\"distribution\": {\"3\": 1, \"4\": 2}"));
+        assertTrue(json.contains("\"name\": \"TestStrategy\""));
+    }
+}
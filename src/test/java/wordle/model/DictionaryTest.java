@@ -1,5 +1,6 @@
 package wordle.model;
 
+import org.example.wordle.model.WordleDictionary;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -10,11 +11,11 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class DictionaryTest {
     
-    private static Dictionary dictionary;
+    private static WordleDictionary dictionary;
 
     @BeforeAll
     public static void setup() {
-        dictionary = new Dictionary();
+        dictionary = new WordleDictionary();
     }
 
     @Test
@@ -38,9 +39,9 @@ public class DictionaryTest {
     @Test
     public void dictionaryIsSafeFromDeletions() {
     	List<String> answers = dictionary.getAnswerWordsList();
-    	assertThrows(UnsupportedOperationException.class, () -> answers.remove(answers.get(0)),"Should not be possible to remove from Dictionary object");
+    	assertThrows(UnsupportedOperationException.class, () -> answers.remove(answers.get(0)),"Should not be possible to remove from WordleDictionary object");
     	List<String> guesses = dictionary.getGuessWordsList();
-    	assertThrows(UnsupportedOperationException.class, () -> guesses.remove(guesses.get(0)),"Should not be possible to remove from Dictionary object");
+    	assertThrows(UnsupportedOperationException.class, () -> guesses.remove(guesses.get(0)),"Should not be possible to remove from WordleDictionary object");
     }
     
     @Test
@@ -66,4 +67,24 @@ public class DictionaryTest {
     	}
     }   
 
+    @Test
+    public void wordIdsRoundTrip() {
+    	List<String> guesses = dictionary.getGuessWordsList();
+    	for(int id = 0; id < guesses.size(); id++) {
+    		assertEquals(guesses.get(id), dictionary.getWord(id));
+    		assertEquals(id, dictionary.getWordId(guesses.get(id)));
+    	}
+    	assertEquals(-1, dictionary.getWordId("hfepy"));
+    }
+
+    @Test
+    public void answerIdsMapToWordIds() {
+    	List<String> answers = dictionary.getAnswerWordsList();
+    	for(int answerId = 0; answerId < answers.size(); answerId++) {
+    		int wordId = dictionary.getAnswerWordId(answerId);
+    		assertEquals(answers.get(answerId), dictionary.getWord(wordId));
+    		assertEquals(answerId, dictionary.getAnswerId(wordId));
+    	}
+    }
+
 }
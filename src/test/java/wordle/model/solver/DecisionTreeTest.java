@@ -0,0 +1,58 @@
+package wordle.model.solver;
+
+import org.example.wordle.controller.AI.DecisionTreeStrategy;
+import org.example.wordle.controller.AI.IStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.DecisionTree;
+import org.example.wordle.model.solver.GuessPolicy;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecisionTreeTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void treeSolvesEveryAnswer() {
+        for (GuessPolicy policy : new GuessPolicy[] { GuessPolicy.ENTROPY, GuessPolicy.MINIMAX }) {
+            DecisionTree tree = DecisionTree.load(dictionary, policy);
+            int winningCode = WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH);
+            for (int answerId = 0; answerId < dictionary.answerCount(); answerId++) {
+                String answer = dictionary.getAnswer(answerId);
+                int node = tree.root();
+                int guesses = 1;
+                while (true) {
+                    String guess = dictionary.getWord(tree.guess(node));
+                    int code = WordleAnswer.matchCode(guess, answer);
+                    if (code == winningCode)
+                        break;
+                    node = tree.child(node, code);
+                    assertTrue(node >= 0, policy + " tree has no node for " + answer + " after " + guess);
+                    guesses++;
+                }
+                assertTrue(guesses <= 6, policy + " tree needs " + guesses + " guesses for " + answer);
+            }
+        }
+    }
+
+    @Test
+    public void missingFeedbackHasNoChild() {
+        DecisionTree tree = DecisionTree.load(dictionary, GuessPolicy.ENTROPY);
+        // Only the winning code follows the all-correct feedback, and it never has a child
+        assertEquals(-1, tree.child(tree.root(), WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH)));
+    }
+
+    @Test
+    public void strategyFailsWhenNoAnswerFits() {
+        IStrategy strategy = new DecisionTreeStrategy(dictionary);
+        String guess = strategy.makeGuess(null);
+        strategy.makeGuess(WordleWord.fromFeedbackCode(guess, 0));
+        // The guess can not both share no letter with the answer and be the answer
+        WordleWord contradiction = WordleWord.fromFeedbackCode(guess,
+                WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH));
+        assertThrows(IllegalStateException.class, () -> strategy.makeGuess(contradiction));
+    }
+}
@@ -0,0 +1,46 @@
+package wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.EndgameSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EndgameSolverTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    private int[] answerIds(String... words) {
+        int[] ids = new int[words.length];
+        for (int i = 0; i < words.length; i++)
+            ids[i] = dictionary.getAnswerId(dictionary.getWordId(words[i]));
+        return ids;
+    }
+
+    @Test
+    public void twoAnswersGuessFirst() {
+        EndgameSolver solver = new EndgameSolver(dictionary, 16);
+        int[] candidates = answerIds("light", "night");
+        assertEquals(dictionary.getWordId("light"), solver.bestGuess(candidates));
+        assertEquals(1.5, solver.expectedGuesses(candidates), 1e-9);
+    }
+
+    @Test
+    public void outsidersHelpWithSimilarAnswers() {
+        int[] candidates = answerIds("fight", "light", "might", "night", "right", "sight", "tight", "eight");
+        // Guessing only possible answers finds one answer per guess
+        assertEquals(36 / 8.0, new EndgameSolver(dictionary, 0).expectedGuesses(candidates), 1e-9);
+        // A guess that tells most of the first letters apart does better
+        EndgameSolver solver = new EndgameSolver(dictionary, 32);
+        assertEquals(19 / 8.0, solver.expectedGuesses(candidates), 1e-9);
+        assertEquals(-1, dictionary.getAnswerId(solver.bestGuess(candidates)));
+    }
+
+    @Test
+    public void tooManyAnswersAreRejected() {
+        int[] candidates = new int[EndgameSolver.MAX_CANDIDATES + 1];
+        for (int i = 0; i < candidates.length; i++)
+            candidates[i] = i;
+        assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(dictionary, 0).bestGuess(candidates));
+    }
+}
@@ -0,0 +1,93 @@
+package wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.EntropyEngine;
+import org.example.wordle.model.solver.ExecutionCostModel;
+import org.example.wordle.model.word.WordleAnswer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntropyEngineTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void entropyMatchesDefinition() {
+        EntropyEngine engine = dictionary.getEntropyEngine();
+        int[] candidates = new int[200];
+        for (int i = 0; i < candidates.length; i++)
+            candidates[i] = i * 7;
+
+        for (String guess : new String[] { "crane", "mommy", "fuzzy" }) {
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (int answerId : candidates)
+                counts.merge(WordleAnswer.matchCode(guess, dictionary.getAnswer(answerId)), 1, Integer::sum);
+            double expected = 0;
+            for (int count : counts.values()) {
+                double p = (double) count / candidates.length;
+                expected -= p * Math.log(p) / Math.log(2);
+            }
+            assertEquals(expected, engine.entropy(dictionary.getWordId(guess), candidates), 1e-9);
+        }
+    }
+
+    @Test
+    public void bestGuessPrefersFirstOnTies() {
+        EntropyEngine engine = dictionary.getEntropyEngine();
+        int[] candidates = { dictionary.getAnswerId(dictionary.getWordId("apple")) };
+        int[] guesses = { dictionary.getWordId("apple"), dictionary.getWordId("crane") };
+        // A single candidate gives zero entropy for every guess
+        assertEquals(guesses[0], engine.bestGuess(guesses, candidates));
+    }
+
+    @Test
+    public void enginesOnOneExecutorShareTheCalibration() {
+        ExecutionCostModel first = dictionary.getEntropyEngine().costModel();
+        ExecutionCostModel second = new WordleDictionary().getEntropyEngine().costModel();
+        assertEquals(first.nanosPerPattern(), second.nanosPerPattern());
+        assertEquals(first.parallelOverheadNanos(), second.parallelOverheadNanos());
+        // Each engine still counts its own calls
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void boundedSearchFindsTheHighestEntropy() {
+        EntropyEngine engine = dictionary.getEntropyEngine();
+        Random random = new Random(14212);
+        for (int size : new int[] { 3, 4, 12, 60, 400, dictionary.answerCount() }) {
+            int[] candidates = random.ints(0, dictionary.answerCount()).distinct().limit(size).sorted().toArray();
+            int[] inSet = new int[candidates.length];
+            boolean[] isCandidate = new boolean[dictionary.wordCount()];
+            for (int i = 0; i < candidates.length; i++) {
+                inSet[i] = dictionary.getAnswerWordId(candidates[i]);
+                isCandidate[inSet[i]] = true;
+            }
+            int[] others = new int[dictionary.guessCount()];
+            int count = 0;
+            for (int wordId = 0; wordId < dictionary.guessCount(); wordId++) {
+                if (!isCandidate[wordId])
+                    others[count++] = wordId;
+            }
+            others = Arrays.copyOf(others, count);
+            int[] all = new int[inSet.length + others.length];
+            System.arraycopy(inSet, 0, all, 0, inSet.length);
+            System.arraycopy(others, 0, all, inSet.length, others.length);
+
+            // The unpruned search looks at every guess, the possible answers first
+            int unpruned = engine.bestGuess(all, candidates);
+            int pruned = engine.bestGuessWithBound(inSet, others, candidates);
+            double best = engine.entropy(unpruned, candidates);
+            assertEquals(best, engine.entropy(pruned, candidates), EntropyEngine.TIE_EPSILON, "size " + size);
+            boolean answerIsBest = false;
+            for (int guessId : inSet)
+                answerIsBest |= engine.entropy(guessId, candidates) >= best - EntropyEngine.TIE_EPSILON;
+            assertEquals(answerIsBest, isCandidate[pruned], "a possible answer must win ties, size " + size);
+        }
+    }
+}
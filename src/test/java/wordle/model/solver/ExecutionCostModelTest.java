@@ -0,0 +1,46 @@
+package wordle.model.solver;
+
+import org.example.wordle.model.solver.ExecutionCostModel;
+import org.example.wordle.model.solver.ExecutionCostModel.Mode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionCostModelTest {
+
+    private ExecutionCostModel model = new ExecutionCostModel(2.0, 20000, 8);
+
+    @Test
+    public void smallWorkRunsSequentially() {
+        assertEquals(Mode.SEQUENTIAL, model.estimate(1, 3));
+        assertEquals(Mode.SEQUENTIAL, model.estimate(1, 2315));
+        assertEquals(Mode.SEQUENTIAL, model.estimate(100, 20));
+    }
+
+    @Test
+    public void manyGuessesAreSplitAcrossGuesses() {
+        assertEquals(Mode.PARALLEL_OVER_GUESSES, model.estimate(13000, 2315));
+        assertEquals(Mode.PARALLEL_OVER_GUESSES, model.estimate(13000, 3));
+    }
+
+    @Test
+    public void oneLargeGuessIsSplitAcrossAnswers() {
+        assertEquals(Mode.PARALLEL_OVER_ANSWERS, model.estimate(1, 100000));
+    }
+
+    @Test
+    public void singleCoreIsAlwaysSequential() {
+        ExecutionCostModel single = new ExecutionCostModel(2.0, 20000, 1);
+        assertEquals(Mode.SEQUENTIAL, single.estimate(13000, 2315));
+    }
+
+    @Test
+    public void chooseCountsCalls() {
+        model.choose(1, 3);
+        model.choose(1, 3);
+        model.choose(13000, 2315);
+        assertEquals(2, model.calls(Mode.SEQUENTIAL));
+        assertEquals(1, model.calls(Mode.PARALLEL_OVER_GUESSES));
+        assertEquals(0, model.calls(Mode.PARALLEL_OVER_ANSWERS));
+    }
+}
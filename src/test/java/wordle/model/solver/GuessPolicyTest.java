@@ -0,0 +1,47 @@
+package wordle.model.solver;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.GuessPolicy;
+import org.example.wordle.model.word.WordleAnswer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GuessPolicyTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    private int largestPart(String guess, int[] candidates) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int answerId : candidates)
+            counts.merge(WordleAnswer.matchCode(guess, dictionary.getAnswer(answerId)), 1, Integer::sum);
+        int largest = 0;
+        for (int count : counts.values())
+            largest = Math.max(largest, count);
+        return largest;
+    }
+
+    @Test
+    public void minimaxFindsSmallestLargestPart() {
+        int[] candidates = new int[150];
+        for (int i = 0; i < candidates.length; i++)
+            candidates[i] = i * 13;
+
+        int best = Integer.MAX_VALUE;
+        for (int wordId = 0; wordId < dictionary.guessCount(); wordId++)
+            best = Math.min(best, largestPart(dictionary.getWord(wordId), candidates));
+        int guess = GuessPolicy.MINIMAX.chooseGuess(dictionary, candidates);
+        assertEquals(best, largestPart(dictionary.getWord(guess), candidates));
+    }
+
+    @Test
+    public void singleAnswerIsGuessed() {
+        for (GuessPolicy policy : GuessPolicy.values()) {
+            int[] candidates = { 42 };
+            assertEquals(dictionary.getAnswerWordId(42), policy.chooseGuess(dictionary, candidates));
+        }
+    }
+}
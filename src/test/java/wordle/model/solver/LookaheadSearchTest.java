@@ -0,0 +1,148 @@
+package wordle.model.solver;
+
+import org.example.wordle.controller.AI.IStrategy;
+import org.example.wordle.controller.AI.LookaheadStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.CostTable;
+import org.example.wordle.model.solver.EntropyEngine;
+import org.example.wordle.model.solver.LookaheadSearch;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookaheadSearchTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    private final WordleDictionary small = new WordleDictionary(
+            List.of("crane", "slate", "mommy", "fuzzy", "eerie", "geese", "abide", "caper", "stole", "llama"),
+            List.of("baker", "caker", "faker", "maker", "taker", "waker", "crane", "slate", "eerie", "geese",
+                    "abide", "caper"));
+
+    private static int[] allAnswers(WordleDictionary dictionary) {
+        int[] candidates = new int[dictionary.answerCount()];
+        for (int i = 0; i < candidates.length; i++)
+            candidates[i] = i;
+        return candidates;
+    }
+
+    private static double estimatedGuesses(int answers) {
+        return 1 + Math.log(answers) / Math.log(2) / 2;
+    }
+
+    private static Map<Integer, List<Integer>> parts(WordleDictionary dictionary, int guessId, int[] answers) {
+        PatternTable patterns = dictionary.getPatternTable();
+        Map<Integer, List<Integer>> parts = new HashMap<>();
+        for (int answerId : answers)
+            parts.computeIfAbsent(patterns.getPattern(guessId, answerId), code -> new ArrayList<>()).add(answerId);
+        parts.remove(WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH));
+        return parts;
+    }
+
+    /**
+     * The expected number of guesses when every part is finished with its best
+     * follow-up guess, each scored by the one-ply estimate.
+     */
+    private static double expectedGuesses(WordleDictionary dictionary, int guessId, int[] candidates) {
+        double remaining = 0;
+        for (List<Integer> part : parts(dictionary, guessId, candidates).values()) {
+            int[] answers = part.stream().mapToInt(Integer::intValue).toArray();
+            double cost = estimatedGuesses(answers.length);
+            if (answers.length > 2) {
+                cost = Double.MAX_VALUE;
+                for (int followUp = 0; followUp < dictionary.wordCount(); followUp++) {
+                    double followUpCost = 0;
+                    for (List<Integer> next : parts(dictionary, followUp, answers).values())
+                        followUpCost += next.size() * estimatedGuesses(next.size());
+                    cost = Math.min(cost, 1 + followUpCost / answers.length);
+                }
+            }
+            remaining += answers.length * cost;
+        }
+        return 1 + remaining / candidates.length;
+    }
+
+    @Test
+    public void lowestExpectedGuessesIsChosen() {
+        // Shortlists of every word make the search exhaustive over two plies
+        LookaheadSearch search = new LookaheadSearch(small, small.wordCount(), small.wordCount());
+        int[] candidates = allAnswers(small);
+
+        double lowest = Double.MAX_VALUE;
+        for (int guessId = 0; guessId < small.wordCount(); guessId++)
+            lowest = Math.min(lowest, expectedGuesses(small, guessId, candidates));
+
+        int guess = search.bestGuess(candidates, Long.MAX_VALUE);
+        assertEquals(lowest, expectedGuesses(small, guess, candidates), 1e-9);
+        assertTrue(search.memoMisses() > 0);
+    }
+
+    @Test
+    public void fewCandidatesAreGuessedDirectly() {
+        LookaheadSearch search = new LookaheadSearch(small, 4, 4);
+        assertEquals(-1, search.bestGuess(new int[0], Long.MAX_VALUE));
+        assertEquals(small.getAnswerWordId(3), search.bestGuess(new int[] { 3, 5 }, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void passedDeadlineScoresTopEntropyGuess() {
+        EntropyEngine engine = dictionary.getEntropyEngine();
+        LookaheadSearch search = new LookaheadSearch(dictionary, 16, 8);
+        int[] candidates = new int[60];
+        for (int i = 0; i < candidates.length; i++)
+            candidates[i] = i * 11;
+
+        double highest = 0;
+        for (int wordId = 0; wordId < dictionary.wordCount(); wordId++)
+            highest = Math.max(highest, engine.entropy(wordId, candidates));
+
+        int guess = search.bestGuess(candidates, System.nanoTime() - 1);
+        assertEquals(highest, engine.entropy(guess, candidates), EntropyEngine.TIE_EPSILON);
+    }
+
+    @Test
+    public void strategyFailsWhenNoAnswerFits() {
+        IStrategy strategy = new LookaheadStrategy(small);
+        String guess = strategy.makeGuess(null);
+        String answer = guess.equals("maker") ? "taker" : "maker";
+        strategy.makeGuess(WordleWord.fromFeedbackCode(guess, WordleAnswer.matchCode(guess, answer)));
+        // The first guess was not the answer, so it can not be correct now
+        WordleWord contradiction = WordleWord.fromFeedbackCode(guess, WordleAnswer.allCorrectCode(small.WORD_LENGTH));
+        assertThrows(IllegalStateException.class, () -> strategy.makeGuess(contradiction));
+    }
+
+    @Test
+    public void storedCostIsFound() {
+        CostTable table = new CostTable(64);
+        table.put(0x1234_5678_9abcL, 40, 2.75);
+        assertEquals(2.75, table.get(0x1234_5678_9abcL, 40));
+        assertTrue(Double.isNaN(table.get(0x1234_5678_9abcL, 41)));
+        assertTrue(Double.isNaN(table.get(0x1234_5678_9abdL, 40)));
+        assertEquals(64, table.capacity());
+    }
+
+    @Test
+    public void largestPartIsKept() {
+        CostTable table = new CostTable(2);
+        // With a single bucket every part collides
+        table.put(1, 500, 4.5);
+        table.put(2, 10, 2.5);
+        table.put(3, 20, 3.0);
+        assertEquals(4.5, table.get(1, 500));
+        assertTrue(Double.isNaN(table.get(2, 10)));
+        assertEquals(3.0, table.get(3, 20));
+
+        // A larger part takes the first entry
+        table.put(4, 900, 5.0);
+        assertEquals(5.0, table.get(4, 900));
+        assertTrue(Double.isNaN(table.get(1, 500)));
+    }
+}
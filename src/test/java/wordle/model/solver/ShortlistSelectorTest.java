@@ -0,0 +1,69 @@
+package wordle.model.solver;
+
+import org.example.wordle.controller.AI.IStrategy;
+import org.example.wordle.controller.AI.ShortlistEntropyStrategy;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.solver.ShortlistSelector;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortlistSelectorTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void fullShortlistMatchesExhaustiveSearch() {
+        WordleWordList list = new WordleWordList(dictionary);
+        list.eliminateWords(WordleAnswer.matchWord("crane", "abide"));
+        ShortlistSelector selector = new ShortlistSelector(dictionary, dictionary.guessCount());
+        assertEquals(list.bestGuessIdFromAllWords(), list.bestGuessIdFromShortlist(selector));
+    }
+
+    @Test
+    public void shortlistHasRequestedSize() {
+        WordleWordList list = new WordleWordList(dictionary);
+        ShortlistSelector selector = new ShortlistSelector(dictionary, 25);
+        int[] shortlist = selector.shortlist(list.size(), list.letterFrequencies(), null);
+        assertEquals(25, shortlist.length);
+        assertEquals(25, Arrays.stream(shortlist).distinct().count());
+    }
+
+    @Test
+    public void shortlistHoldsAllGuessesWhenTheyAreFewer() {
+        WordleWordList list = new WordleWordList(dictionary);
+        ShortlistSelector selector = new ShortlistSelector(dictionary, dictionary.guessCount() + 10);
+        int[] shortlist = selector.shortlist(list.size(), list.letterFrequencies(), null);
+        assertEquals(dictionary.guessCount(), Arrays.stream(shortlist).distinct().count());
+    }
+
+    @Test
+    public void guessesAnswerWhenOnlyTwoAreLeft() {
+        WordleWordList list = new WordleWordList(dictionary);
+        list.setPossibleAnswers(List.of("abide", "aside"));
+        int guess = list.bestGuessIdFromShortlist(new ShortlistSelector(dictionary, 10));
+        assertEquals("abide", dictionary.getWord(guess));
+    }
+
+    @Test
+    public void shortlistMustNotBeEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> new ShortlistSelector(dictionary, 0));
+    }
+
+    @Test
+    public void strategyFailsWhenNoAnswerFits() {
+        IStrategy strategy = new ShortlistEntropyStrategy(dictionary, 50, true);
+        String guess = strategy.makeGuess(null);
+        strategy.makeGuess(WordleWord.fromFeedbackCode(guess, WordleAnswer.matchCode(guess, "cloud")));
+        // The first guess was not the answer, so it can not be correct now
+        WordleWord contradiction = WordleWord.fromFeedbackCode(guess,
+                WordleAnswer.allCorrectCode(dictionary.WORD_LENGTH));
+        assertThrows(IllegalStateException.class, () -> strategy.makeGuess(contradiction));
+    }
+}
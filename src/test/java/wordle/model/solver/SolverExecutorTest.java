@@ -0,0 +1,60 @@
+package wordle.model.solver;
+
+import org.example.wordle.model.solver.SolverExecutor;
+import org.example.wordle.model.solver.SolverExecutor.Partitioning;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverExecutorTest {
+
+    private void assertRunsEveryIndexOnce(SolverExecutor executor) {
+        AtomicIntegerArray runs = new AtomicIntegerArray(1000);
+        executor.forEach(3, 1000, runs::incrementAndGet);
+        for (int i = 0; i < runs.length(); i++)
+            assertEquals(i < 3 ? 0 : 1, runs.get(i), "index " + i);
+    }
+
+    @Test
+    public void dynamicRunsEveryIndexOnce() {
+        try (SolverExecutor executor = new SolverExecutor(3, "test", Partitioning.DYNAMIC)) {
+            assertRunsEveryIndexOnce(executor);
+        }
+    }
+
+    @Test
+    public void staticRunsEveryIndexOnce() {
+        try (SolverExecutor executor = new SolverExecutor(3, "test", Partitioning.STATIC)) {
+            assertRunsEveryIndexOnce(executor);
+        }
+    }
+
+    @Test
+    public void workersAreNamed() {
+        ConcurrentHashMap<String, Boolean> names = new ConcurrentHashMap<>();
+        try (SolverExecutor executor = new SolverExecutor(2, "solver-test", Partitioning.STATIC)) {
+            executor.forEach(0, 2, i -> names.put(Thread.currentThread().getName(), true));
+        }
+        assertFalse(names.isEmpty());
+        for (String name : names.keySet())
+            assertTrue(name.startsWith("solver-test-"), name);
+    }
+
+    @Test
+    public void nestedLoopsFinish() {
+        AtomicIntegerArray runs = new AtomicIntegerArray(100);
+        try (SolverExecutor executor = new SolverExecutor(2, "test")) {
+            executor.forEach(0, 10, i -> executor.forEach(0, 10, j -> runs.incrementAndGet(i * 10 + j)));
+        }
+        for (int i = 0; i < runs.length(); i++)
+            assertEquals(1, runs.get(i));
+    }
+
+    @Test
+    public void parallelismMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SolverExecutor(0, "test"));
+    }
+}
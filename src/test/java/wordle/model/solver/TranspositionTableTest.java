@@ -0,0 +1,33 @@
+package wordle.model.solver;
+
+import org.example.wordle.model.solver.TranspositionTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void storedGuessIsFound() {
+        TranspositionTable table = new TranspositionTable(64);
+        table.put(0x1234_5678_9abcL, 40, 17);
+        assertEquals(17, table.get(0x1234_5678_9abcL, 40));
+        assertEquals(-1, table.get(0x1234_5678_9abcL, 41));
+        assertEquals(-1, table.get(0x1234_5678_9abdL, 40));
+        assertEquals(1, table.hits());
+        assertEquals(2, table.misses());
+    }
+
+    @Test
+    public void largestSetIsKept() {
+        TranspositionTable table = new TranspositionTable(2);
+        // With a single bucket every set collides
+        table.put(1, 500, 1);
+        table.put(2, 10, 2);
+        table.put(3, 20, 3);
+        assertEquals(1, table.get(1, 500));
+        assertEquals(-1, table.get(2, 10));
+        assertEquals(3, table.get(3, 20));
+        assertEquals(1, table.evictions());
+    }
+}
@@ -0,0 +1,93 @@
+package wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.CandidateSet;
+import org.example.wordle.model.word.LetterFrequencies;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandidateSetTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void allHasEveryIndex() {
+        CandidateSet set = CandidateSet.all(130);
+        assertEquals(130, set.size());
+        assertTrue(set.contains(129));
+        assertEquals(129, set.members()[129]);
+        assertEquals(-1, set.nextSetBit(130));
+    }
+
+    @Test
+    public void addAndRemove() {
+        CandidateSet set = new CandidateSet(200);
+        set.add(3);
+        set.add(150);
+        set.add(3);
+        assertEquals(2, set.size());
+        assertEquals(150, set.nextSetBit(4));
+        assertTrue(set.remove(3));
+        assertFalse(set.remove(3));
+        assertArrayEquals(new int[] { 150 }, set.members());
+    }
+
+    @Test
+    public void applyKeepsWordsWithSameFeedback() {
+        for (String guess : List.of("speed", "mommy", "crane")) {
+            WordleWord feedback = WordleAnswer.matchWord(guess, "abide");
+            CandidateSet set = CandidateSet.all(dictionary.answerCount());
+            set.apply(feedback.getConstraint(), dictionary.getAnswerPostings());
+
+            List<Integer> expected = new ArrayList<>();
+            for (int answerId = 0; answerId < dictionary.answerCount(); answerId++) {
+                if (WordleAnswer.matchCode(guess, dictionary.getAnswer(answerId)) == feedback.getFeedbackCode())
+                    expected.add(answerId);
+            }
+            assertEquals(expected.size(), set.size());
+            for (int answerId : expected)
+                assertTrue(set.contains(answerId));
+        }
+    }
+
+    @Test
+    public void fingerprintOnlyDependsOnMembers() {
+        WordleWord feedback = WordleAnswer.matchWord("crane", "abide");
+        CandidateSet applied = CandidateSet.all(dictionary.answerCount());
+        applied.apply(feedback.getConstraint(), dictionary.getAnswerPostings());
+
+        CandidateSet added = new CandidateSet(dictionary.answerCount());
+        for (int answerId : applied.members())
+            added.add(answerId);
+        assertEquals(added.fingerprint(), applied.fingerprint());
+
+        added.remove(applied.members()[0]);
+        assertNotEquals(added.fingerprint(), applied.fingerprint());
+        added.clear();
+        assertEquals(new CandidateSet(dictionary.answerCount()).fingerprint(), added.fingerprint());
+    }
+
+    @Test
+    public void letterFrequenciesFollowTheSet() {
+        CandidateSet set = CandidateSet.all(dictionary.answerCount());
+        set.trackLetterFrequencies(LetterFrequencies.forAnswers(dictionary, set));
+        set.apply(WordleAnswer.matchWord("crane", "abide").getConstraint(), dictionary.getAnswerPostings());
+        set.remove(set.members()[0]);
+
+        CandidateSet copy = set.copy();
+        copy.clear();
+        int[][] expected = new int[dictionary.WORD_LENGTH][26];
+        for (int answerId : set.members()) {
+            for (int p = 0; p < expected.length; p++)
+                expected[p][dictionary.letterAt(dictionary.getAnswerWordId(answerId), p)]++;
+        }
+        assertArrayEquals(expected, set.letterFrequencies().table());
+        assertEquals(0, copy.letterFrequencies().count(0, 0));
+    }
+}
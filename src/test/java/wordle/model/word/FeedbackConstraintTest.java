@@ -0,0 +1,68 @@
+package wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.AnswerType;
+import org.example.wordle.model.word.FeedbackConstraint;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.example.wordle.model.word.AnswerType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedbackConstraintTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void sameResultAsMatchCodeForOtherCharacters() {
+        List<String> words = List.of("CRANE", "crane", "Crane", "cr-ne", "ab-cd", "dc-ba", "nacre");
+        for (String guess : words) {
+            for (int code = 0; code < WordleAnswer.patternCount(5); code++) {
+                WordleWord feedback = WordleWord.fromFeedbackCode(guess, code);
+                for (String word : words) {
+                    boolean expected = WordleAnswer.matchCode(guess, word) == code;
+                    assertEquals(expected, WordleWord.isPossibleWord(word, feedback), guess + " " + code + " " + word);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sameResultAsMatchCodeForEveryFeedback() {
+        // Every code, including feedback that no answer can give
+        for (String guess : List.of("mommy", "speed", "eerie", "arise")) {
+            for (int code = 0; code < WordleAnswer.patternCount(5); code++) {
+                FeedbackConstraint constraint = WordleWord.fromFeedbackCode(guess, code).getConstraint();
+                for (String word : dictionary.getAnswerWordsList()) {
+                    boolean expected = WordleAnswer.matchCode(guess, word) == code;
+                    assertEquals(expected, constraint.matches(word), guess + " " + code + " " + word);
+                    assertEquals(expected, constraint.matches(dictionary, dictionary.getWordId(word)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void duplicateLetterCounts() {
+        // "speed" against "abide": only one e, so the second e is grey
+        WordleWord feedback = WordleAnswer.matchWord("speed", "abide");
+        FeedbackConstraint constraint = feedback.getConstraint();
+        int e = 'e' - 'a';
+        assertEquals(1, constraint.minCount(e));
+        assertTrue(constraint.isExactCount(e));
+        assertTrue(constraint.matches("abide"));
+        assertFalse(constraint.matches("eerie"));
+    }
+
+    @Test
+    public void yellowAfterGreyIsImpossible() {
+        AnswerType[] types = { WRONG, MISPLACED, WRONG, WRONG, WRONG };
+        FeedbackConstraint constraint = new WordleWord("eerie", types).getConstraint();
+        assertTrue(constraint.isImpossible());
+        for (String word : dictionary.getAnswerWordsList())
+            assertFalse(constraint.matches(word));
+    }
+}
@@ -0,0 +1,48 @@
+package wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.FeedbackScorer;
+import org.example.wordle.model.word.ScalarFeedbackScorer;
+import org.example.wordle.model.word.WordColumns;
+import org.example.wordle.model.word.WordleAnswer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeedbackScorerTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void defaultScorerAgreesWithMatchCode() {
+        checkScorer(FeedbackScorer.getDefault());
+    }
+
+    @Test
+    public void scalarScorerAgreesWithMatchCode() {
+        checkScorer(new ScalarFeedbackScorer());
+    }
+
+    private void checkScorer(FeedbackScorer scorer) {
+        List<String> answers = dictionary.getAnswerWordsList();
+        WordColumns columns = new WordColumns(answers);
+        for (String guess : List.of("mommy", "speed", "eerie", "arise", "llama", "xylyl")) {
+            byte[] codes = scorer.score(guess, columns);
+            for (int i = 0; i < answers.size(); i++)
+                assertEquals(WordleAnswer.matchCode(guess, answers.get(i)), codes[i] & 0xFF,
+                        guess + " against " + answers.get(i));
+        }
+    }
+
+    @Test
+    public void scoreWritesAtOffset() {
+        WordColumns columns = new WordColumns(List.of("mommy", "money"));
+        byte[] codes = new byte[4];
+        FeedbackScorer.getDefault().score("mommy", columns, codes, 2);
+        assertEquals(0, codes[0]);
+        assertEquals(WordleAnswer.allCorrectCode(5), codes[2] & 0xFF);
+        assertEquals(WordleAnswer.matchCode("mommy", "money"), codes[3] & 0xFF);
+    }
+}
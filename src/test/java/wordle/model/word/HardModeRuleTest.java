@@ -0,0 +1,45 @@
+package wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.HardModeRule;
+import org.example.wordle.model.word.WordleAnswer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HardModeRuleTest {
+
+    private WordleDictionary dictionary = new WordleDictionary();
+
+    @Test
+    public void allowedGuessesMatchTheHints() {
+        HardModeRule rule = new HardModeRule(dictionary);
+        rule.addFeedback(WordleAnswer.matchWord("crane", "caper"));
+        rule.addFeedback(WordleAnswer.matchWord("cater", "caper"));
+        for (int wordId = 0; wordId < dictionary.guessCount(); wordId++) {
+            String word = dictionary.getWord(wordId);
+            boolean expected = WordleAnswer.matchWord("crane", "caper").getConstraint().hardModeViolation(word) == null
+                    && WordleAnswer.matchWord("cater", "caper").getConstraint().hardModeViolation(word) == null;
+            assertEquals(expected, rule.allows(wordId), word);
+        }
+        assertTrue(rule.allows("caper"));
+        assertFalse(rule.allows("crane"));
+    }
+
+    @Test
+    public void hardModeRejectsGuessWithoutHints() {
+        WordleAnswer answer = new WordleAnswer("caper", dictionary);
+        answer.setHardMode(true);
+        answer.makeGuess("crane");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> answer.makeGuess("stole"));
+        assertTrue(e.getMessage().startsWith("Hard mode"));
+        answer.makeGuess("cater");
+    }
+
+    @Test
+    public void normalModeAllowsAnyGuess() {
+        WordleAnswer answer = new WordleAnswer("caper", dictionary);
+        answer.makeGuess("crane");
+        answer.makeGuess("stole");
+    }
+}
@@ -0,0 +1,103 @@
+package wordle.model.word;
+
+import org.example.util.CacheFiles;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.PatternTable;
+import org.example.wordle.model.word.WordleAnswer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatternTableTest {
+
+    @TempDir
+    Path directory;
+
+    private String cacheDir;
+
+    private final WordleDictionary small = new WordleDictionary(
+            List.of("crane", "slate", "mommy", "fuzzy", "eerie", "geese"), List.of("eerie", "crane", "abide"));
+    private final WordleDictionary other = new WordleDictionary(
+            List.of("stole", "caper", "llama", "tatty", "nanny", "speed"), List.of("caper", "nanny", "weary"));
+
+    @BeforeEach
+    public void useTemporaryCache() {
+        cacheDir = System.getProperty("wordle.cacheDir");
+        System.setProperty("wordle.cacheDir", directory.toString());
+    }
+
+    @AfterEach
+    public void restoreCache() {
+        if (cacheDir == null)
+            System.clearProperty("wordle.cacheDir");
+        else
+            System.setProperty("wordle.cacheDir", cacheDir);
+    }
+
+    private static Path cacheFile(WordleDictionary dictionary) {
+        return CacheFiles.cacheFile("patterns-" + dictionary.getChecksum() + ".bin");
+    }
+
+    private static void assertMatchesMatchCode(WordleDictionary dictionary, PatternTable table) {
+        for (int wordId = 0; wordId < dictionary.wordCount(); wordId++) {
+            for (int answerId = 0; answerId < dictionary.answerCount(); answerId++) {
+                String word = dictionary.getWord(wordId);
+                String answer = dictionary.getAnswer(answerId);
+                assertEquals(WordleAnswer.matchCode(word, answer), table.getPattern(wordId, answerId),
+                        word + " against " + answer);
+            }
+        }
+    }
+
+    @Test
+    public void tableMatchesMatchCode() {
+        WordleDictionary dictionary = new WordleDictionary();
+        PatternTable table = dictionary.getPatternTable();
+        Random random = new Random(14212);
+        for (int i = 0; i < 100_000; i++) {
+            int wordId = random.nextInt(dictionary.wordCount());
+            int answerId = random.nextInt(dictionary.answerCount());
+            assertEquals(WordleAnswer.matchCode(dictionary.getWord(wordId), dictionary.getAnswer(answerId)),
+                    table.getPattern(wordId, answerId));
+        }
+    }
+
+    @Test
+    public void cachedTableIsReadBack() {
+        assertMatchesMatchCode(small, PatternTable.load(small));
+        assertTrue(Files.isRegularFile(cacheFile(small)));
+        assertMatchesMatchCode(small, PatternTable.load(small));
+    }
+
+    @Test
+    public void truncatedCacheIsRebuilt() throws IOException {
+        PatternTable.load(small);
+        Path file = cacheFile(small);
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 5));
+
+        assertMatchesMatchCode(small, PatternTable.load(small));
+        assertArrayEquals(content, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void cacheOfAnotherDictionaryIsRebuilt() throws IOException {
+        // Both dictionaries have the same number of words, so only the checksum tells the files apart
+        PatternTable.load(other);
+        Files.copy(cacheFile(other), cacheFile(small), StandardCopyOption.REPLACE_EXISTING);
+
+        assertMatchesMatchCode(small, PatternTable.load(small));
+        assertFalse(Arrays.equals(Files.readAllBytes(cacheFile(other)), Files.readAllBytes(cacheFile(small))));
+    }
+}
@@ -0,0 +1,43 @@
+package wordle.model.word;
+
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordFeatures;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordFeaturesTest {
+
+    private WordleDictionary dictionary = new WordleDictionary(List.of("apple", "crane", "eerie", "aaaab"),
+            List.of("apple", "crane"));
+
+    @Test
+    public void letterMaskHasEveryLetter() {
+        WordFeatures features = dictionary.getWordFeatures();
+        int crane = dictionary.getWordId("crane");
+        int expected = 0;
+        for (char c : "crane".toCharArray())
+            expected |= 1 << (c - 'a');
+        assertEquals(expected, features.letterMask(crane));
+    }
+
+    @Test
+    public void duplicateFlag() {
+        WordFeatures features = dictionary.getWordFeatures();
+        assertTrue(features.hasDuplicateLetters(dictionary.getWordId("apple")));
+        assertFalse(features.hasDuplicateLetters(dictionary.getWordId("crane")));
+    }
+
+    @Test
+    public void countsBeyondThePackedLimit() {
+        WordFeatures features = dictionary.getWordFeatures();
+        int eerie = dictionary.getWordId("eerie");
+        assertEquals(3, features.count(eerie, 'e' - 'a'));
+        assertEquals(1, features.count(eerie, 'r' - 'a'));
+        assertEquals(0, features.count(eerie, 'z' - 'a'));
+        assertEquals(4, features.count(dictionary.getWordId("aaaab"), 0));
+        assertEquals(3, features.letterCounts(dictionary.getWordId("aaaab")) & 3);
+    }
+}
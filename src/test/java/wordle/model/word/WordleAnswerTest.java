@@ -1,8 +1,14 @@
 package wordle.model.word;
 
-import no.uib.inf102.wordle.model.Dictionary;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.AnswerType;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleCharacter;
+import org.example.wordle.model.word.WordleWord;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -11,7 +17,7 @@ public class WordleAnswerTest {
 
     private Random random = new Random();
 
-    private Dictionary dictionary = new Dictionary();
+    private WordleDictionary dictionary = new WordleDictionary();
 
     private final String LEGAL_WORD = "arise";
 
@@ -206,6 +212,66 @@ public class WordleAnswerTest {
         assertTrue(WordleWord.isPossibleWord("mossy", feedback));
     }
 
+    @Test
+    public void matchCodeDuplicateLetters() {
+        // "money" against "mommy": CORRECT, CORRECT, WRONG, WRONG, CORRECT
+        int expected = 2 + 2 * 3 + 2 * 81;
+        assertEquals(expected, WordleAnswer.matchCode("money", "mommy"));
+        assertEquals(WordleAnswer.allCorrectCode(5), WordleAnswer.matchCode("mommy", "mommy"));
+        assertEquals(0, WordleAnswer.matchCode("hurry", "coast"));
+    }
+
+    @Test
+    public void matchCodeAgreesWithReference() {
+        for (int i = 0; i < 10000; i++) {
+            String guess = dictionary.getGuessWordsList().get(random.nextInt(dictionary.getGuessWordsList().size()));
+            String answer = dictionary.getAnswerWordsList().get(random.nextInt(dictionary.getAnswerWordsList().size()));
+            WordleWord expected = referenceMatch(guess, answer);
+            assertEquals(expected.getFeedbackCode(), WordleAnswer.matchCode(guess, answer), guess + " " + answer);
+            assertEquals(expected, WordleAnswer.matchWord(guess, answer));
+        }
+    }
+
+    @Test
+    public void matchCodeOfOtherCharacters() {
+        // Upper-case letters never match lower-case ones
+        assertEquals(0, WordleAnswer.matchCode("CRANE", "crane"));
+        assertEquals(referenceMatch("CRANE", "crane"), WordleAnswer.matchWord("CRANE", "crane"));
+        assertEquals(WordleAnswer.allCorrectCode(5), WordleAnswer.matchCode("CRANE", "CRANE"));
+        assertEquals(referenceMatch("ab-cd", "dc-ba").getFeedbackCode(), WordleAnswer.matchCode("ab-cd", "dc-ba"));
+        // The scratch counters are still clear afterwards
+        assertEquals(0, WordleAnswer.matchCode("nacre", "boost"));
+    }
+
+    /**
+     * The two-pass matching with a map of letter counts, independent of
+     * {@link WordleAnswer#matchCode(String, String)}.
+     */
+    private static WordleWord referenceMatch(String guess, String answer) {
+        AnswerType[] feedback = new AnswerType[answer.length()];
+        Map<Character, Integer> map = new HashMap<>();
+        for (int i = 0; i < answer.length(); i++) {
+            char answerChar = answer.charAt(i);
+            map.put(answerChar, map.getOrDefault(answerChar, 0) + 1);
+            if (guess.charAt(i) == answerChar) {
+                feedback[i] = AnswerType.CORRECT;
+                map.put(answerChar, map.get(answerChar) - 1);
+            }
+        }
+        for (int i = 0; i < answer.length(); i++) {
+            char guessChar = guess.charAt(i);
+            if (feedback[i] == AnswerType.CORRECT)
+                continue;
+            if (map.getOrDefault(guessChar, 0) > 0) {
+                feedback[i] = AnswerType.MISPLACED;
+                map.put(guessChar, map.get(guessChar) - 1);
+            } else {
+                feedback[i] = AnswerType.WRONG;
+            }
+        }
+        return new WordleWord(guess, feedback);
+    }
+
     @Test
     public void canCreateLegalWords() {
         for (String legalAnswerWord : dictionary.getAnswerWordsList()) {
@@ -242,5 +308,4 @@ public class WordleAnswerTest {
         }
     }
 
-
 }
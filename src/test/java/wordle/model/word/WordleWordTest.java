@@ -1,18 +1,21 @@
 package wordle.model.word;
 
-import no.uib.inf102.wordle.model.Dictionary;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.AnswerType;
+import org.example.wordle.model.word.WordleCharacter;
+import org.example.wordle.model.word.WordleWord;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Random;
 
-import static no.uib.inf102.wordle.model.word.AnswerType.*;
-import static no.uib.inf102.wordle.model.word.AnswerType.WRONG;
+import static org.example.wordle.model.word.AnswerType.*;
+import static org.example.wordle.model.word.AnswerType.WRONG;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class WordleWordTest {
 
-    private Dictionary dictionary = new Dictionary();
+    private WordleDictionary dictionary = new WordleDictionary();
     private final List<String> WORDLE_WORDS = dictionary.getGuessWordsList();
     private Random random = new Random();
 
@@ -1,9 +1,10 @@
 package wordle.model.word.wordleWordList;
 
-import no.uib.inf102.util.ReadFile;
-import no.uib.inf102.wordle.model.word.WordleAnswer;
-import no.uib.inf102.wordle.model.word.WordleWord;
-import no.uib.inf102.wordle.model.word.WordleWordList;
+import org.example.util.ReadFile;
+import org.example.wordle.model.WordleDictionary;
+import org.example.wordle.model.word.WordleAnswer;
+import org.example.wordle.model.word.WordleWord;
+import org.example.wordle.model.word.WordleWordList;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
@@ -13,9 +14,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 public class WordleWordListTest {
 
-    private static final String FOLDER_PATH = "src/test/java/no/uib/inf102/wordle/model/word/wordleWordList/";
+    private static final String FOLDER_PATH = "src/test/java/wordle/model/word/wordleWordList/";
 
-    private Dictionary dictionary = new Dictionary();
+    private WordleDictionary dictionary = new WordleDictionary();
 
     //Note that these tests may fail if there are any changes to the dictionary
     @Test
@@ -238,6 +239,16 @@ public class WordleWordListTest {
         assertEquals(expectedEntropy, actualEntropy, 0.001);
     }
 
+    @Test
+    public void setPossibleAnswersKeepsOrder() {
+        WordleWordList wordList = new WordleWordList(dictionary);
+        wordList.setPossibleAnswers(List.of("apply", "angle", "apply", "ample"));
+        assertEquals(List.of("apply", "angle", "ample"), wordList.possibleAnswers());
+
+        wordList.remove("angle");
+        assertEquals(List.of("apply", "ample"), wordList.possibleAnswers());
+    }
+
     @Test
     public void testBestGuessBasedOnEntropy() {
         List<String> words = new ArrayList<>();